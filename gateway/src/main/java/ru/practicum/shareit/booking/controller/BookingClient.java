@@ -1,51 +1,36 @@
 package ru.practicum.shareit.booking.controller;
 
 import java.util.Map;
+import java.util.HashMap;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.beans.factory.annotation.Autowired;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.client.ResponseAdapter;
 import org.springframework.http.ResponseEntity;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.web.util.DefaultUriBuilderFactory;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
-    @Autowired
-    public BookingClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(ServerTransport transport, ResponseAdapter responseAdapter) {
+        super(transport, responseAdapter, API_PREFIX);
     }
 
     public ResponseEntity<Object> findById(Long userId, Long id) {
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<Object> findAllByBookerId(Long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> findAllByBookerId(Long userId, BookingState state, Integer from, Integer size,
+                                                    @Nullable String cursor) {
+        return get(pageQuery("", cursor), userId, pageParameters(state, from, size, cursor));
     }
 
-    public ResponseEntity<Object> findAllByItemOwnerId(Long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state,
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> findAllByItemOwnerId(Long userId, BookingState state, Integer from, Integer size,
+                                                       @Nullable String cursor) {
+        return get(pageQuery("/owner", cursor), userId, pageParameters(state, from, size, cursor));
     }
 
     public ResponseEntity<Object> save(BookingDto dto, Long userId) {
@@ -62,4 +47,21 @@ public class BookingClient extends BaseClient {
     public ResponseEntity<Object> deleteById(Long userId, Long id) {
         return delete("/" + id, userId);
     }
+
+    private static String pageQuery(String path, @Nullable String cursor) {
+        final String query = path + "?state={state}&from={from}&size={size}";
+        return cursor == null ? query : query + "&cursor={cursor}";
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, Integer from, Integer size, @Nullable String cursor) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state,
+                "from", from,
+                "size", size
+        ));
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
 }
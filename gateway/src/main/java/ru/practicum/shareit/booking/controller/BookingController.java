@@ -29,22 +29,24 @@ public class BookingController {
     public ResponseEntity<Object> findAllByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                     @RequestParam(name = "state", defaultValue = "ALL") String state,
                                                     @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                    @RequestParam(defaultValue = "10") @Positive Integer size) {
-        log.info("Send get request /bookings?state={}&from={}&size={}", state, from, size);
+                                                    @RequestParam(defaultValue = "10") @Positive Integer size,
+                                                    @RequestParam(required = false) String cursor) {
+        log.info("Send get request /bookings?state={}&from={}&size={}&cursor={}", state, from, size, cursor);
         final BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        return bookingClient.findAllByBookerId(userId, bookingState, from, size);
+        return bookingClient.findAllByBookerId(userId, bookingState, from, size, cursor);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> findAllByItemOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                        @RequestParam(name = "state", defaultValue = "ALL") String state,
                                                        @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
-                                                       @RequestParam(defaultValue = "10") @Positive Integer size) {
-        log.info("Send get request /bookings/owner?state={}&from={}&size={}", state, from, size);
+                                                       @RequestParam(defaultValue = "10") @Positive Integer size,
+                                                       @RequestParam(required = false) String cursor) {
+        log.info("Send get request /bookings/owner?state={}&from={}&size={}&cursor={}", state, from, size, cursor);
         final BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        return bookingClient.findAllByItemOwnerId(userId, bookingState, from, size);
+        return bookingClient.findAllByItemOwnerId(userId, bookingState, from, size, cursor);
     }
 
     @PostMapping
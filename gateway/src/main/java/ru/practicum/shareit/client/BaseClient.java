@@ -4,17 +4,24 @@ import java.util.Map;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.Nullable;
-import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.web.client.HttpStatusCodeException;
 
 @RequiredArgsConstructor
 public class BaseClient {
-    protected final RestTemplate rest;
+    /**
+     * Connection level headers of the server response, the gateway connection sets its own.
+     */
+    private static final List<String> HOP_BY_HOP_HEADERS = List.of(
+            HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH, "Keep-Alive");
+    /**
+     * Headers of the server error response kept for the client.
+     */
+    private static final List<String> ERROR_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.RETRY_AFTER);
+    protected final ServerTransport transport;
+    private final ResponseAdapter responseAdapter;
+    private final String prefix;
 
     protected ResponseEntity<Object> get(String path) {
         return get(path, null, null);
@@ -77,36 +84,21 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
-        }
-        return prepareGatewayResponse(shareitServerResponse);
-    }
-
-    private HttpHeaders defaultHeaders(Long userId) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-        if (userId != null) {
-            headers.set("X-Sharer-User-Id", String.valueOf(userId));
-        }
-        return headers;
+        return responseAdapter.adapt(transport.exchange(method, prefix + path, ServerTransport.defaultHeaders(userId), parameters, body)
+                .map(BaseClient::prepareGatewayResponse));
     }
 
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+        final HttpHeaders headers = new HttpHeaders();
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            headers.addAll(response.getHeaders());
+            HOP_BY_HOP_HEADERS.forEach(headers::remove);
+        } else {
+            ERROR_HEADERS.stream()
+                    .filter(response.getHeaders()::containsKey)
+                    .forEach(name -> headers.put(name, response.getHeaders().get(name)));
         }
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode()).headers(headers);
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
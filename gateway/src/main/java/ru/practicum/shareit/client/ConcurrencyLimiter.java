@@ -0,0 +1,85 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicInteger;
+import reactor.core.publisher.Mono;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+/**
+ * Adaptive limit of concurrent server calls, see GradientLimit. Sits right above the origin transport,
+ * so only real server round trips are measured. Calls over the limit fail at once with ServiceUnavailableException
+ * instead of waiting for a thread or connection. Published as gateway.concurrency.limit, gateway.concurrency.in-flight
+ * and gateway.concurrency.shed.
+ */
+@Order(400)
+@Component
+@ConditionalOnProperty(name = "shareit.gateway.concurrency.enabled", havingValue = "true")
+public class ConcurrencyLimiter implements ServerTransportDecorator, MeterBinder {
+    private static final long RETRY_AFTER_SECONDS = 1;
+    private final GradientLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder shed = new LongAdder();
+
+    public ConcurrencyLimiter(@Value("${shareit.gateway.concurrency.initial-limit:20}") int initialLimit,
+                              @Value("${shareit.gateway.concurrency.min-limit:10}") int minLimit,
+                              @Value("${shareit.gateway.concurrency.max-limit:200}") int maxLimit,
+                              @Value("${shareit.gateway.concurrency.smoothing:0.2}") double smoothing,
+                              @Value("${shareit.gateway.concurrency.rtt-tolerance:1.5}") double rttTolerance,
+                              @Value("${shareit.gateway.concurrency.long-window:600}") int longWindow) {
+        this.limit = new GradientLimit(initialLimit, minLimit, maxLimit, smoothing, rttTolerance, longWindow);
+    }
+
+    @Override
+    public ServerTransport decorate(ServerTransport transport) {
+        return (method, path, headers, parameters, body) -> Mono.defer(() -> {
+            final int current = tryAcquire();
+            if (current < 0) {
+                shed.increment();
+                return Mono.error(new ServiceUnavailableException(
+                        String.format("Server is at its limit of %d concurrent calls!", limit.getLimit()), RETRY_AFTER_SECONDS));
+            }
+            final long start = System.nanoTime();
+            return transport.exchange(method, path, headers, parameters, body)
+                    .doOnNext(response -> limit.onSample(System.nanoTime() - start, current,
+                            response.getStatusCode().is5xxServerError()))
+                    .doOnError(e -> limit.onSample(System.nanoTime() - start, current, true))
+                    .doFinally(signal -> inFlight.decrementAndGet());
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("gateway.concurrency.limit", limit, GradientLimit::getLimit)
+                .description("Concurrent server calls allowed")
+                .register(registry);
+        Gauge.builder("gateway.concurrency.in-flight", inFlight, AtomicInteger::get)
+                .description("Server calls in flight")
+                .register(registry);
+        FunctionCounter.builder("gateway.concurrency.shed", shed, LongAdder::sum)
+                .description("Calls rejected over the concurrency limit")
+                .register(registry);
+    }
+
+    /**
+     * @return Calls in flight including this one, or -1 if the limit is reached.
+     */
+    private int tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= limit.getLimit()) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import java.time.Duration;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * Last 200 response of a GET per user and uri, revalidated with If-None-Match on every call.
+ * A 304 from the server is answered with the cached response, so the body is sent only when it changes.
+ */
+@Order(200)
+@Component
+@ConditionalOnProperty(name = "shareit.gateway.cache.enabled", havingValue = "true")
+public class EtagResponseCache implements ServerTransportDecorator, MeterBinder {
+    private static final String CACHE_NAME = "gateway-responses";
+    private static final int UNKNOWN_BODY_SIZE = 1024;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final List<String> paths;
+    private final Cache<String, ResponseEntity<Object>> responses;
+
+    public EtagResponseCache(@Value("${shareit.gateway.cache.paths:/items/*,/users/*,/requests/*}") List<String> paths,
+                             @Value("${shareit.gateway.cache.max-bytes:67108864}") long maxBytes,
+                             @Value("${shareit.gateway.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.paths = paths;
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, ResponseEntity<Object> response) -> key.length() + sizeOf(response.getBody()))
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public ServerTransport decorate(ServerTransport transport) {
+        return (method, path, headers, parameters, body) -> {
+            if (method != HttpMethod.GET || !isCached(path)) {
+                return transport.exchange(method, path, headers, parameters, body);
+            }
+            final String key = ServerTransport.requestKey(path, headers, parameters);
+            final ResponseEntity<Object> cached = responses.getIfPresent(key);
+            final HttpHeaders requestHeaders = new HttpHeaders();
+            requestHeaders.addAll(headers);
+            if (cached != null) {
+                requestHeaders.setIfNoneMatch(cached.getHeaders().getETag());
+            }
+            return transport.exchange(method, path, requestHeaders, parameters, body).map(response -> {
+                if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                    return cached;
+                }
+                if (response.getStatusCode() == HttpStatus.OK && response.getHeaders().getETag() != null) {
+                    responses.put(key, response);
+                } else {
+                    responses.invalidate(key);
+                }
+                return response;
+            });
+        };
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, CACHE_NAME);
+    }
+
+    private boolean isCached(String path) {
+        final int query = path.indexOf('?');
+        final String route = query < 0 ? path : path.substring(0, query);
+        return paths.stream().anyMatch(pattern -> matcher.match(pattern, route));
+    }
+
+    private static int sizeOf(@Nullable Object body) {
+        return body instanceof byte[] ? ((byte[]) body).length : UNKNOWN_BODY_SIZE;
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Concurrency limit estimated from round trip times, the gradient of the long term average to the current sample.
+ * While the server answers as fast as usual the limit grows by its square root, the allowed queue;
+ * when calls slow down it shrinks in proportion, down to half per sample. Dropped calls cut it by a tenth.
+ */
+public class GradientLimit {
+    private static final double BACKOFF = 0.9;
+    private static final double MIN_GRADIENT = 0.5;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final double longRttFactor;
+    private double estimatedLimit;
+    private double longRtt;
+    private volatile int limit;
+
+    /**
+     * @param initialLimit Limit before the first sample.
+     * @param minLimit Lowest limit.
+     * @param maxLimit Highest limit.
+     * @param smoothing Share of a new estimate in the limit, from 0 to 1.
+     * @param rttTolerance Slowdown of a sample against the long term average still taken as usual, at least 1.
+     * @param longWindow Samples in the long term average.
+     */
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance, int longWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.longRttFactor = 2.0 / (longWindow + 1);
+        this.estimatedLimit = initialLimit;
+        this.limit = initialLimit;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Update the limit with a finished call.
+     * @param rttNanos Round trip time of the call.
+     * @param inFlight Calls in flight when the call was sent.
+     * @param dropped Call failed or the server answered with an error.
+     */
+    public synchronized void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            update(estimatedLimit * BACKOFF);
+            return;
+        }
+        longRtt = longRtt == 0 ? rttNanos : longRtt + (rttNanos - longRtt) * longRttFactor;
+        // After a long slowdown the average lags behind, let it catch up so the limit recovers quickly
+        if (longRtt > 2 * rttNanos) {
+            longRtt *= 0.95;
+        }
+        // Nothing is learned about capacity while most of the limit is unused
+        if (inFlight < estimatedLimit / 2) {
+            return;
+        }
+        final double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, rttTolerance * longRtt / rttNanos));
+        final double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        update(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+    }
+
+    private void update(double newLimit) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import io.grpc.Channel;
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.MethodDescriptor;
+import io.grpc.ManagedChannel;
+import io.grpc.ClientInterceptor;
+import io.grpc.ManagedChannelBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * One http/2 channel to the server grpc endpoint for all gateway clients of the grpc transport, calls are multiplexed
+ * over it. Calls without a deadline get the read timeout of the blocking transport pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.gateway.transport", havingValue = "grpc")
+public class GrpcChannelConfig {
+    @Bean(destroyMethod = "shutdown")
+    public ManagedChannel serverChannel(@Value("${shareit.server.grpc-target:localhost:9091}") String target,
+                                        @Value("${shareit.gateway.pool.read-timeout:30s}") Duration readTimeout,
+                                        @Value("${shareit.gateway.pool.idle-timeout:30s}") Duration idleTimeout) {
+        return ManagedChannelBuilder.forTarget(target)
+                .usePlaintext()
+                .idleTimeout(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .intercept(deadline(readTimeout))
+                .build();
+    }
+
+    private static ClientInterceptor deadline(Duration timeout) {
+        return new ClientInterceptor() {
+            @Override
+            public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method,
+                                                                       CallOptions callOptions, Channel next) {
+                return next.newCall(method, callOptions.getDeadline() != null ? callOptions :
+                        callOptions.withDeadlineAfter(timeout.toMillis(), TimeUnit.MILLISECONDS));
+            }
+        };
+    }
+}
@@ -0,0 +1,379 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import java.util.List;
+import java.util.Arrays;
+import java.io.IOException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import io.grpc.Status;
+import io.grpc.ManagedChannel;
+import io.grpc.StatusRuntimeException;
+import com.google.protobuf.Empty;
+import com.google.protobuf.Message;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import org.springframework.lang.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import ru.practicum.shareit.grpc.*;
+import ru.practicum.shareit.exception.ErrorResponse;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Grpc transport, gateway requests are sent as typed calls over one multiplexed http/2 channel to the server.
+ * Each rest route of the server is mapped to its grpc method, responses are written back as the json of the rest api
+ * and grpc statuses as the rest error codes, so the decorators and clients see the same responses as over http.
+ * Responses carry no ETag, the response cache leaves them out.
+ */
+@Component(TransportConfig.ORIGIN)
+@ConditionalOnProperty(name = "shareit.gateway.transport", havingValue = "grpc")
+public class GrpcTransport implements ServerTransport {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final long RETRY_AFTER_SECONDS = 1;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final ObjectMapper mapper;
+    private final boolean passthrough;
+    private final List<Route> routes;
+
+    public GrpcTransport(ManagedChannel serverChannel, ObjectMapper mapper,
+                         @Value("${shareit.gateway.passthrough:false}") boolean passthrough) {
+        this.mapper = mapper;
+        this.passthrough = passthrough;
+        final UserServiceGrpc.UserServiceFutureStub users = UserServiceGrpc.newFutureStub(serverChannel);
+        final ItemServiceGrpc.ItemServiceFutureStub items = ItemServiceGrpc.newFutureStub(serverChannel);
+        final BookingServiceGrpc.BookingServiceFutureStub bookings = BookingServiceGrpc.newFutureStub(serverChannel);
+        final ItemRequestServiceGrpc.ItemRequestServiceFutureStub requests = ItemRequestServiceGrpc.newFutureStub(serverChannel);
+        // Fixed paths go before the {id} ones they would match
+        this.routes = List.of(
+                new Route(HttpMethod.GET, "/users/{id}", null, call -> send(
+                        () -> users.findById(call.idRequest()), this::toResponse)),
+                new Route(HttpMethod.GET, "/users", "ids", call -> send(
+                        () -> users.findAllByIds(call.idsRequest()), it -> toResponse(it.getUsersList()))),
+                new Route(HttpMethod.GET, "/users", null, call -> send(
+                        () -> users.findAll(Empty.getDefaultInstance()), it -> toResponse(it.getUsersList()))),
+                new Route(HttpMethod.POST, "/users", null, call -> send(
+                        () -> users.save(call.body(UserMessage.newBuilder()).build()), this::toResponse)),
+                new Route(HttpMethod.PATCH, "/users/{id}", null, call -> send(
+                        () -> users.update(UpdateUserRequest.newBuilder()
+                                .setId(call.id())
+                                .setUser(call.body(UserMessage.newBuilder()))
+                                .build()), this::toResponse)),
+                new Route(HttpMethod.DELETE, "/users/{id}", null, call -> send(
+                        () -> users.deleteById(call.idRequest()), this::toEmptyResponse)),
+
+                new Route(HttpMethod.GET, "/items/search", null, call -> send(
+                        () -> items.findAllByText(call.searchItemsRequest()), it -> toResponse(it.getItemsList()))),
+                new Route(HttpMethod.GET, "/items/{id}/availability", null, call -> send(
+                        () -> items.findAvailability(call.availabilityRequest()), this::toResponse)),
+                new Route(HttpMethod.GET, "/items/{id}", null, call -> send(
+                        () -> items.findById(call.idRequest()), this::toResponse)),
+                new Route(HttpMethod.GET, "/items", "ids", call -> send(
+                        () -> items.findAllByIds(call.idsRequest()), it -> toResponse(it.getItemsList()))),
+                new Route(HttpMethod.GET, "/items", null, call -> send(
+                        () -> items.findAll(call.userRequest()), it -> toResponse(it.getItemsList()))),
+                new Route(HttpMethod.POST, "/items/batch", null, call -> send(
+                        () -> items.saveAll(call.itemsRequest()), it -> toResponse(it.getResultsList()))),
+                new Route(HttpMethod.POST, "/items/{id}/comment", null, call -> send(
+                        () -> items.saveComment(SaveCommentRequest.newBuilder()
+                                .setUserId(call.userId)
+                                .setId(call.id())
+                                .setComment(call.body(CommentMessage.newBuilder()))
+                                .build()), this::toResponse)),
+                new Route(HttpMethod.POST, "/items", null, call -> send(
+                        () -> items.save(SaveItemRequest.newBuilder()
+                                .setUserId(call.userId)
+                                .setItem(call.body(ItemMessage.newBuilder()))
+                                .build()), this::toResponse)),
+                new Route(HttpMethod.PATCH, "/items/batch", null, call -> send(
+                        () -> items.updateAll(call.itemsRequest()), it -> toResponse(it.getResultsList()))),
+                new Route(HttpMethod.PATCH, "/items/{id}", null, call -> send(
+                        () -> items.update(UpdateItemRequest.newBuilder()
+                                .setUserId(call.userId)
+                                .setId(call.id())
+                                .setItem(call.body(ItemMessage.newBuilder()))
+                                .build()), this::toResponse)),
+                new Route(HttpMethod.DELETE, "/items/{id}", null, call -> send(
+                        () -> items.deleteById(call.idRequest()), this::toEmptyResponse)),
+
+                new Route(HttpMethod.GET, "/bookings/owner", null, call -> send(
+                        () -> bookings.findAllByItemOwnerId(call.bookingsRequest()), this::toPageResponse)),
+                new Route(HttpMethod.GET, "/bookings/{id}", null, call -> send(
+                        () -> bookings.findById(call.idRequest()), this::toResponse)),
+                new Route(HttpMethod.GET, "/bookings", null, call -> send(
+                        () -> bookings.findAllByBookerId(call.bookingsRequest()), this::toPageResponse)),
+                new Route(HttpMethod.POST, "/bookings", null, call -> send(
+                        () -> bookings.save(SaveBookingRequest.newBuilder()
+                                .setUserId(call.userId)
+                                .setBooking(call.body(BookingMessage.newBuilder()))
+                                .build()), this::toResponse)),
+                new Route(HttpMethod.PATCH, "/bookings/{id}", "approved", call -> send(
+                        () -> bookings.update(ApproveBookingRequest.newBuilder()
+                                .setUserId(call.userId)
+                                .setId(call.id())
+                                .setApproved(Boolean.parseBoolean(call.param("approved")))
+                                .build()), this::toResponse)),
+                new Route(HttpMethod.DELETE, "/bookings/{id}", null, call -> send(
+                        () -> bookings.deleteById(call.idRequest()), this::toEmptyResponse)),
+
+                new Route(HttpMethod.GET, "/requests/all", null, call -> send(
+                        () -> requests.findByPage(PageRequest.newBuilder()
+                                .setUserId(call.userId)
+                                .setFrom(call.intParam("from", 0))
+                                .setSize(call.intParam("size", 10))
+                                .build()), it -> toResponse(it.getRequestsList()))),
+                new Route(HttpMethod.GET, "/requests/{id}", null, call -> send(
+                        () -> requests.findById(call.idRequest()), this::toResponse)),
+                new Route(HttpMethod.GET, "/requests", "ids", call -> send(
+                        () -> requests.findAllByIds(call.idsRequest()), it -> toResponse(it.getRequestsList()))),
+                new Route(HttpMethod.GET, "/requests", null, call -> send(
+                        () -> requests.findAll(call.userRequest()), it -> toResponse(it.getRequestsList()))),
+                new Route(HttpMethod.POST, "/requests", null, call -> send(
+                        () -> requests.save(SaveItemRequestRequest.newBuilder()
+                                .setUserId(call.userId)
+                                .setRequest(call.body(ItemRequestMessage.newBuilder()))
+                                .build()), this::toResponse)),
+                new Route(HttpMethod.DELETE, "/requests/{id}", null, call -> send(
+                        () -> requests.deleteById(call.idRequest()), this::toEmptyResponse))
+        );
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        final UriComponents uri = UriComponentsBuilder.fromUriString(path).build()
+                .expand(parameters == null ? Map.of() : parameters);
+        final String userId = headers.getFirst(USER_HEADER);
+        final MultiValueMap<String, String> query = uri.getQueryParams();
+        for (Route route : routes) {
+            if (route.method == method && matcher.match(route.pattern, uri.getPath())
+                    && (route.param == null || query.containsKey(route.param))) {
+                final Call call = new Call(userId == null ? 0 : Long.parseLong(userId),
+                        matcher.extractUriTemplateVariables(route.pattern, uri.getPath()), query,
+                        body == null ? null : mapper.valueToTree(body));
+                return Mono.defer(() -> route.handler.apply(call))
+                        .onErrorResume(StatusRuntimeException.class, e -> Mono.just(toErrorResponse(e.getStatus())));
+            }
+        }
+        return Mono.just(toErrorResponse(HttpStatus.NOT_FOUND,
+                String.format("No grpc method for %s %s", method, uri.getPath())));
+    }
+
+    private static <T> Mono<ResponseEntity<Object>> send(Supplier<ListenableFuture<T>> rpc,
+                                                        Function<T, ResponseEntity<Object>> toResponse) {
+        return Mono.<T>create(sink -> {
+            final ListenableFuture<T> future = rpc.get();
+            sink.onCancel(() -> future.cancel(false));
+            Futures.addCallback(future, new FutureCallback<>() {
+                @Override
+                public void onSuccess(T result) {
+                    sink.success(result);
+                }
+
+                @Override
+                public void onFailure(Throwable t) {
+                    sink.error(t);
+                }
+            }, MoreExecutors.directExecutor());
+        }).map(toResponse);
+    }
+
+    private ResponseEntity<Object> toResponse(Message message) {
+        return toJsonResponse(ResponseEntity.ok(), ProtoJson.toJson(message));
+    }
+
+    private ResponseEntity<Object> toResponse(List<? extends Message> messages) {
+        return toJsonResponse(ResponseEntity.ok(), ProtoJson.toJson(messages));
+    }
+
+    private ResponseEntity<Object> toPageResponse(BookingPage page) {
+        final ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (page.hasNextCursor()) {
+            builder.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return toJsonResponse(builder, ProtoJson.toJson(page.getBookingsList()));
+    }
+
+    private ResponseEntity<Object> toEmptyResponse(Empty empty) {
+        return ResponseEntity.ok().build();
+    }
+
+    private ResponseEntity<Object> toErrorResponse(Status status) {
+        return toErrorResponse(toHttpStatus(status.getCode()), status.getDescription());
+    }
+
+    private ResponseEntity<Object> toErrorResponse(HttpStatus status, @Nullable String message) {
+        final ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            builder.header(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+        }
+        try {
+            return toJsonResponse(builder, mapper.writeValueAsBytes(new ErrorResponse(message, status.value())));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * In passthrough mode the json bytes are returned as is, otherwise parsed as the other transports do.
+     */
+    private ResponseEntity<Object> toJsonResponse(ResponseEntity.BodyBuilder builder, byte[] json) {
+        builder.contentType(MediaType.APPLICATION_JSON);
+        if (passthrough) {
+            return builder.body(json);
+        }
+        try {
+            return builder.body(mapper.readValue(json, Object.class));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    static HttpStatus toHttpStatus(Status.Code code) {
+        switch (code) {
+            case INVALID_ARGUMENT:
+                return HttpStatus.BAD_REQUEST;
+            case NOT_FOUND:
+                return HttpStatus.NOT_FOUND;
+            case ALREADY_EXISTS:
+                return HttpStatus.CONFLICT;
+            case UNAVAILABLE:
+                return HttpStatus.SERVICE_UNAVAILABLE;
+            case DEADLINE_EXCEEDED:
+                return HttpStatus.GATEWAY_TIMEOUT;
+            default:
+                return HttpStatus.INTERNAL_SERVER_ERROR;
+        }
+    }
+
+    /**
+     * Server rest route and its grpc call, param is a query parameter the route requires.
+     */
+    @RequiredArgsConstructor
+    private static final class Route {
+        private final HttpMethod method;
+        private final String pattern;
+        @Nullable
+        private final String param;
+        private final Function<Call, Mono<ResponseEntity<Object>>> handler;
+    }
+
+    /**
+     * Request in terms of the rest api: user header, path variables, query parameters and json body.
+     */
+    @RequiredArgsConstructor
+    private static final class Call {
+        private final long userId;
+        private final Map<String, String> variables;
+        private final MultiValueMap<String, String> query;
+        @Nullable
+        private final JsonNode body;
+
+        long id() {
+            return Long.parseLong(variables.get("id"));
+        }
+
+        @Nullable
+        String param(String name) {
+            return query.getFirst(name);
+        }
+
+        int intParam(String name, int defaultValue) {
+            final String value = param(name);
+            return value == null ? defaultValue : Integer.parseInt(value);
+        }
+
+        <B extends Message.Builder> B body(B builder) {
+            return body == null ? builder : ProtoJson.merge(body, builder);
+        }
+
+        UserRequest userRequest() {
+            return UserRequest.newBuilder()
+                    .setUserId(userId)
+                    .build();
+        }
+
+        IdRequest idRequest() {
+            return IdRequest.newBuilder()
+                    .setUserId(userId)
+                    .setId(id())
+                    .build();
+        }
+
+        IdsRequest idsRequest() {
+            final String ids = param("ids");
+            return IdsRequest.newBuilder()
+                    .setUserId(userId)
+                    .addAllIds(ids == null || ids.isEmpty() ? List.of() : Arrays.stream(ids.split(","))
+                            .map(Long::valueOf)
+                            .collect(toList()))
+                    .build();
+        }
+
+        SearchItemsRequest searchItemsRequest() {
+            final SearchItemsRequest.Builder request = SearchItemsRequest.newBuilder()
+                    .setUserId(userId)
+                    .setText(param("text") == null ? "" : param("text"))
+                    .setFrom(intParam("from", 0))
+                    .setSize(intParam("size", 10));
+            if (param("start") != null) {
+                request.setStart(param("start"));
+            }
+            if (param("end") != null) {
+                request.setEnd(param("end"));
+            }
+            return request.build();
+        }
+
+        AvailabilityRequest availabilityRequest() {
+            final AvailabilityRequest.Builder request = AvailabilityRequest.newBuilder()
+                    .setUserId(userId)
+                    .setId(id());
+            if (param("from") != null) {
+                request.setFrom(param("from"));
+            }
+            if (param("to") != null) {
+                request.setTo(param("to"));
+            }
+            return request.build();
+        }
+
+        ItemsRequest itemsRequest() {
+            final ItemsRequest.Builder request = ItemsRequest.newBuilder()
+                    .setUserId(userId);
+            if (body != null) {
+                body.forEach(it -> request.addItems(ProtoJson.merge(it, ItemMessage.newBuilder())));
+            }
+            return request.build();
+        }
+
+        BookingsRequest bookingsRequest() {
+            final BookingsRequest.Builder request = BookingsRequest.newBuilder()
+                    .setUserId(userId)
+                    .setState(param("state") == null ? "ALL" : param("state"))
+                    .setFrom(intParam("from", 0))
+                    .setSize(intParam("size", 10));
+            if (param("cursor") != null) {
+                request.setCursor(param("cursor"));
+            }
+            return request.build();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.Setter;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * One connection pool to the server for all gateway clients of the blocking transport.
+ * Pool state is published as the httpcomponents.httpclient.pool.* metrics with tag httpclient=shareit-server.
+ */
+@Configuration
+@EnableConfigurationProperties(HttpClientConfig.PoolProperties.class)
+@ConditionalOnProperty(name = "shareit.gateway.transport", havingValue = "blocking", matchIfMissing = true)
+public class HttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager serverConnectionManager(PoolProperties properties) {
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(
+                properties.getTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(properties.getMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxPerRoute());
+        connectionManager.setValidateAfterInactivity((int) properties.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient serverHttpClient(PoolingHttpClientConnectionManager serverConnectionManager, PoolProperties properties) {
+        final RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) properties.getConnectTimeout().toMillis())
+                .setSocketTimeout((int) properties.getReadTimeout().toMillis())
+                .setConnectionRequestTimeout((int) properties.getAcquireTimeout().toMillis())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(serverConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(properties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public MeterBinder serverConnectionPoolMetrics(PoolingHttpClientConnectionManager serverConnectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(serverConnectionManager, POOL_NAME);
+    }
+
+    @Getter
+    @Setter
+    @ConfigurationProperties(prefix = "shareit.gateway.pool")
+    public static class PoolProperties {
+        private int maxTotal = 200;
+        private int maxPerRoute = 200;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(30);
+        private Duration acquireTimeout = Duration.ofSeconds(5);
+        private Duration idleTimeout = Duration.ofSeconds(30);
+        private Duration timeToLive = Duration.ofMinutes(5);
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import reactor.core.publisher.Mono;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Server call of the reactive transport returned by the clients in place of the response.
+ * Its own status and body are placeholders, PendingResponseHandler writes the response of the call instead.
+ */
+@Getter
+public final class PendingResponse extends ResponseEntity<Object> {
+    private final Mono<ResponseEntity<Object>> response;
+
+    public PendingResponse(Mono<ResponseEntity<Object>> response) {
+        super(HttpStatus.ACCEPTED);
+        this.response = response;
+    }
+}
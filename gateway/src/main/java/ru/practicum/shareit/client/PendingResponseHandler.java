@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import reactor.core.Disposable;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.method.support.AsyncHandlerMethodReturnValueHandler;
+
+/**
+ * Starts async processing for a PendingResponse returned by a controller, the request thread is released
+ * until the server call completes. The call is cancelled when the request times out or fails.
+ * Plain responses are not async values and are left to the default ResponseEntity handling.
+ */
+public class PendingResponseHandler implements AsyncHandlerMethodReturnValueHandler {
+    @Override
+    public boolean supportsReturnType(MethodParameter returnType) {
+        return ResponseEntity.class.isAssignableFrom(returnType.getParameterType());
+    }
+
+    @Override
+    public boolean isAsyncReturnValue(Object returnValue, MethodParameter returnType) {
+        return returnValue instanceof PendingResponse;
+    }
+
+    @Override
+    public void handleReturnValue(Object returnValue, MethodParameter returnType, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest) throws Exception {
+        final DeferredResult<ResponseEntity<Object>> result = new DeferredResult<>();
+        final Disposable call = ((PendingResponse) returnValue).getResponse()
+                .subscribe(result::setResult, result::setErrorResult);
+        result.onTimeout(call::dispose);
+        result.onCompletion(call::dispose);
+        WebAsyncUtils.getAsyncManager(webRequest).startDeferredResultProcessing(result, mavContainer);
+    }
+}
@@ -0,0 +1,153 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.ByteArrayOutputStream;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import com.google.protobuf.Message;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.Descriptors.FieldDescriptor;
+import com.google.protobuf.Descriptors.EnumValueDescriptor;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Json of the grpc messages in the shape of the server rest dtos: json field names, unset optional fields as null.
+ * Repeated fields are never absent in proto3, so an empty collection is written as [] where the rest api may write null.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProtoJson {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public static byte[] toJson(Message message) {
+        return write(generator -> writeMessage(generator, message));
+    }
+
+    public static byte[] toJson(List<? extends Message> messages) {
+        return write(generator -> {
+            generator.writeStartArray();
+            for (Message message : messages) {
+                writeMessage(generator, message);
+            }
+            generator.writeEndArray();
+        });
+    }
+
+    /**
+     * Set the fields of the builder present in the json, nulls and unknown fields are skipped.
+     * @param node Json object.
+     * @param builder Message builder.
+     * @return The builder.
+     */
+    public static <B extends Message.Builder> B merge(JsonNode node, B builder) {
+        for (FieldDescriptor field : builder.getDescriptorForType().getFields()) {
+            final JsonNode value = node.get(field.getJsonName());
+            if (value == null || value.isNull()) {
+                continue;
+            }
+            if (field.isRepeated()) {
+                for (JsonNode element : value) {
+                    builder.addRepeatedField(field, toValue(field, element, builder));
+                }
+            } else {
+                builder.setField(field, toValue(field, value, builder));
+            }
+        }
+        return builder;
+    }
+
+    private static Object toValue(FieldDescriptor field, JsonNode value, Message.Builder builder) {
+        switch (field.getJavaType()) {
+            case INT:
+                return value.asInt();
+            case LONG:
+                return value.asLong();
+            case FLOAT:
+                return (float) value.asDouble();
+            case DOUBLE:
+                return value.asDouble();
+            case BOOLEAN:
+                return value.asBoolean();
+            case ENUM:
+                return field.getEnumType().findValueByName(value.asText());
+            case BYTE_STRING:
+                try {
+                    return ByteString.copyFrom(value.binaryValue());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            case MESSAGE:
+                return merge(value, builder.newBuilderForField(field)).build();
+            default:
+                return value.asText();
+        }
+    }
+
+    private static void writeMessage(JsonGenerator generator, Message message) throws IOException {
+        generator.writeStartObject();
+        for (FieldDescriptor field : message.getDescriptorForType().getFields()) {
+            generator.writeFieldName(field.getJsonName());
+            if (field.isRepeated()) {
+                generator.writeStartArray();
+                for (int i = 0; i < message.getRepeatedFieldCount(field); i++) {
+                    writeValue(generator, field, message.getRepeatedField(field, i));
+                }
+                generator.writeEndArray();
+            } else if (field.hasPresence() && !message.hasField(field)) {
+                generator.writeNull();
+            } else {
+                writeValue(generator, field, message.getField(field));
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeValue(JsonGenerator generator, FieldDescriptor field, Object value) throws IOException {
+        switch (field.getJavaType()) {
+            case INT:
+                generator.writeNumber((Integer) value);
+                break;
+            case LONG:
+                generator.writeNumber((Long) value);
+                break;
+            case FLOAT:
+                generator.writeNumber((Float) value);
+                break;
+            case DOUBLE:
+                generator.writeNumber((Double) value);
+                break;
+            case BOOLEAN:
+                generator.writeBoolean((Boolean) value);
+                break;
+            case ENUM:
+                generator.writeString(((EnumValueDescriptor) value).getName());
+                break;
+            case BYTE_STRING:
+                generator.writeBinary(((ByteString) value).toByteArray());
+                break;
+            case MESSAGE:
+                writeMessage(generator, (Message) value);
+                break;
+            default:
+                generator.writeString((String) value);
+        }
+    }
+
+    private static byte[] write(JsonWriter writer) {
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            writer.write(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toByteArray();
+    }
+
+    @FunctionalInterface
+    private interface JsonWriter {
+        void write(JsonGenerator generator) throws IOException;
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * Async controller responses of the reactive transport: clients return a PendingResponse
+ * and only these requests leave the request thread, see PendingResponseHandler.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.gateway.transport", havingValue = "reactive")
+public class ReactiveResponseConfig implements WebMvcConfigurer {
+    @Bean
+    public ResponseAdapter pendingResponseAdapter() {
+        return PendingResponse::new;
+    }
+
+    @Override
+    public void addReturnValueHandlers(List<HandlerMethodReturnValueHandler> handlers) {
+        handlers.add(new PendingResponseHandler());
+    }
+}
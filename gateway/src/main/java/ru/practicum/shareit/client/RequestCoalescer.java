@@ -0,0 +1,73 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.AtomicReference;
+import reactor.core.publisher.Mono;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * Identical GETs in flight at the same time share one server call, every waiter gets its response.
+ * A failed call is not kept, the next GET goes to the server again.
+ * Counted as gateway.coalescing.requests with result=upstream for calls sent and result=joined for shared ones.
+ */
+@Order(100)
+@Component
+@ConditionalOnProperty(name = "shareit.gateway.coalescing.enabled", havingValue = "true")
+public class RequestCoalescer implements ServerTransportDecorator, MeterBinder {
+    private static final String METRIC_NAME = "gateway.coalescing.requests";
+    private final Map<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder upstream = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+
+    @Override
+    public ServerTransport decorate(ServerTransport transport) {
+        return (method, path, headers, parameters, body) -> {
+            if (method != HttpMethod.GET) {
+                return transport.exchange(method, path, headers, parameters, body);
+            }
+            final String key = ServerTransport.requestKey(path, headers, parameters);
+            joined.increment();
+            return inFlight.computeIfAbsent(key, it -> {
+                joined.decrement();
+                upstream.increment();
+                return share(it, transport.exchange(method, path, headers, parameters, body));
+            });
+        };
+    }
+
+    /**
+     * The server call is cancelled and forgotten once its last waiter cancels. The entry is removed only while it
+     * is still this call, a waiter coming after the call ended starts a new one.
+     */
+    private Mono<ResponseEntity<Object>> share(String key, Mono<ResponseEntity<Object>> call) {
+        final AtomicReference<Mono<ResponseEntity<Object>>> shared = new AtomicReference<>();
+        shared.set(call
+                .doFinally(signal -> inFlight.remove(key, shared.get()))
+                .flux()
+                .publish()
+                .refCount(1)
+                .singleOrEmpty());
+        return shared.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_NAME, upstream, LongAdder::sum)
+                .tag("result", "upstream")
+                .description("GET requests sent to the server")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME, joined, LongAdder::sum)
+                .tag("result", "joined")
+                .description("GET requests answered by a call already in flight")
+                .register(registry);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.client;
+
+import reactor.core.publisher.Mono;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Turns a server call into the controller return value, selected by shareit.gateway.transport.
+ * The blocking transport answers on the request thread, the reactive one returns a PendingResponse
+ * which the request completes asynchronously, see ReactiveResponseConfig.
+ */
+@FunctionalInterface
+public interface ResponseAdapter {
+    /**
+     * @param response Server call, not subscribed yet.
+     * @return Response for the controller to return.
+     */
+    ResponseEntity<Object> adapt(Mono<ResponseEntity<Object>> response);
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import reactor.core.publisher.Mono;
+import org.apache.http.client.HttpClient;
+import org.springframework.lang.Nullable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * Blocking transport, the request thread waits for the server response.
+ * In passthrough mode bodies are kept as the server bytes instead of being parsed.
+ */
+@Component(TransportConfig.ORIGIN)
+@ConditionalOnProperty(name = "shareit.gateway.transport", havingValue = "blocking", matchIfMissing = true)
+public class RestTemplateTransport implements ServerTransport {
+    private final RestTemplate rest;
+    private final Class<?> responseType;
+
+    public RestTemplateTransport(@Value("${shareit.server.url}") String serverUrl,
+                                 @Value("${shareit.gateway.passthrough:false}") boolean passthrough,
+                                 RestTemplateBuilder builder, HttpClient serverHttpClient) {
+        this.responseType = passthrough ? byte[].class : Object.class;
+        this.rest = builder
+                .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl))
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(serverHttpClient))
+                .build();
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        return Mono.fromCallable(() -> send(method, path, headers, parameters, body));
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, String path, HttpHeaders headers,
+                                        @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+        try {
+            final ResponseEntity<?> response = parameters != null ?
+                    rest.exchange(path, method, requestEntity, responseType, parameters) :
+                    rest.exchange(path, method, requestEntity, responseType);
+            return new ResponseEntity<>(response.getBody(), response.getHeaders(), response.getStatusCode());
+        } catch (HttpStatusCodeException e) {
+            return new ResponseEntity<>(e.getResponseBodyAsByteArray(), e.getResponseHeaders(), e.getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import reactor.core.publisher.Mono;
+import lombok.extern.slf4j.Slf4j;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import ru.practicum.shareit.exception.ErrorResponse;
+
+/**
+ * Circuit breaker and bulkhead per server route (users, items, bookings, requests), a slow or failing route
+ * cannot take the threads and connections of the others. Server errors and slow calls open the breaker,
+ * rejected calls are answered with 503 and Retry-After without reaching the server.
+ * Configured by resilience4j.circuitbreaker.instances.<route> and resilience4j.bulkhead.instances.<route>,
+ * state and transitions are published by the circuitbreakers and circuitbreakerevents actuator endpoints.
+ */
+@Slf4j
+@Order(300)
+@Component
+@ConditionalOnProperty(name = "shareit.gateway.resilience.enabled", havingValue = "true")
+public class RouteResilience implements ServerTransportDecorator {
+    private static final Duration BULKHEAD_RETRY_AFTER = Duration.ofSeconds(1);
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+
+    public RouteResilience(CircuitBreakerRegistry circuitBreakers, BulkheadRegistry bulkheads) {
+        this.circuitBreakers = circuitBreakers;
+        this.bulkheads = bulkheads;
+        circuitBreakers.getAllCircuitBreakers().forEach(RouteResilience::logTransitions);
+        circuitBreakers.getEventPublisher().onEntryAdded(event -> logTransitions(event.getAddedEntry()));
+    }
+
+    @Override
+    public ServerTransport decorate(ServerTransport transport) {
+        return (method, path, headers, parameters, body) -> {
+            final String route = routeOf(path);
+            final CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(route);
+            final Bulkhead bulkhead = bulkheads.bulkhead(route);
+            return transport.exchange(method, path, headers, parameters, body)
+                    .flatMap(response -> response.getStatusCode().is5xxServerError() ?
+                            Mono.<ResponseEntity<Object>>error(new ServerErrorResponse(response)) :
+                            Mono.just(response))
+                    .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                    .transformDeferred(BulkheadOperator.of(bulkhead))
+                    .onErrorResume(ServerErrorResponse.class, e -> Mono.just(e.response))
+                    .onErrorResume(CallNotPermittedException.class, e -> Mono.just(unavailable(
+                            String.format("Route %s is unavailable, circuit breaker is %s", route, circuitBreaker.getState()),
+                            circuitBreaker.getCircuitBreakerConfig().getWaitDurationInOpenState())))
+                    .onErrorResume(BulkheadFullException.class, e -> Mono.just(unavailable(
+                            String.format("Route %s is busy, too many concurrent calls", route),
+                            BULKHEAD_RETRY_AFTER)));
+        };
+    }
+
+    /**
+     * First segment of the path, /bookings/owner?state={state} belongs to bookings.
+     * @param path Path relative to the server url.
+     * @return Route name.
+     */
+    static String routeOf(String path) {
+        final int start = path.startsWith("/") ? 1 : 0;
+        int end = start;
+        while (end < path.length() && path.charAt(end) != '/' && path.charAt(end) != '?') {
+            end++;
+        }
+        return path.substring(start, end);
+    }
+
+    private static ResponseEntity<Object> unavailable(String message, Duration retryAfter) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())))
+                .body(new ErrorResponse(message, HttpStatus.SERVICE_UNAVAILABLE.value()));
+    }
+
+    private static void logTransitions(CircuitBreaker circuitBreaker) {
+        circuitBreaker.getEventPublisher().onStateTransition(event -> log.warn("Circuit breaker {}: {}",
+                event.getCircuitBreakerName(), event.getStateTransition()));
+    }
+
+    /**
+     * Server error response passed through the circuit breaker as a failure, returned to the client as is.
+     */
+    private static final class ServerErrorResponse extends RuntimeException {
+        private final transient ResponseEntity<Object> response;
+
+        private ServerErrorResponse(ResponseEntity<Object> response) {
+            super(response.getStatusCode().toString(), null, false, false);
+            this.response = response;
+        }
+    }
+}
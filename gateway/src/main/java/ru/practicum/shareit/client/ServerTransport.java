@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import java.util.List;
+import java.util.TreeMap;
+import reactor.core.publisher.Mono;
+import org.springframework.lang.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Sends gateway requests to the shareit server. The origin transport is selected by shareit.gateway.transport
+ * and wrapped by every ServerTransportDecorator.
+ */
+public interface ServerTransport {
+    String USER_HEADER = "X-Sharer-User-Id";
+
+    /**
+     * Send request to the server, error statuses are returned as responses.
+     * @param method Http method.
+     * @param path Path relative to the server url, may contain uri template variables.
+     * @param headers Request headers, see defaultHeaders.
+     * @param parameters Uri template variables.
+     * @param body Request body.
+     * @return Server response.
+     */
+    Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                          @Nullable Map<String, Object> parameters, @Nullable Object body);
+
+    /**
+     * Identity of a request for caching and coalescing, user and uri with its variables.
+     * @param path Path, may contain uri template variables.
+     * @param headers Request headers.
+     * @param parameters Uri template variables.
+     * @return Request key.
+     */
+    static String requestKey(String path, HttpHeaders headers, @Nullable Map<String, Object> parameters) {
+        final String uri = parameters == null ? path : path + new TreeMap<>(parameters);
+        return headers.getFirst(USER_HEADER) + " " + uri;
+    }
+
+    /**
+     * Json content and X-Sharer-User-Id header if user id is set.
+     * @param userId User id.
+     * @return Request headers.
+     */
+    static HttpHeaders defaultHeaders(@Nullable Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set(USER_HEADER, String.valueOf(userId));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.client;
+
+/**
+ * Wraps the server transport, decorators are applied by order, the lowest order is the outermost.
+ */
+public interface ServerTransportDecorator {
+    ServerTransport decorate(ServerTransport transport);
+}
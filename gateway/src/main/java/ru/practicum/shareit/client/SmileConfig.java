@@ -0,0 +1,37 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * Smile converters of both transports with the json settings of the application, dates stay iso strings.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.gateway.smile.enabled", havingValue = "true")
+public class SmileConfig {
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+    }
+
+    @Bean
+    public CodecCustomizer smileCodecCustomizer(Jackson2ObjectMapperBuilder builder) {
+        final ObjectMapper mapper = smileMapper(builder);
+        return configurer -> {
+            configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(mapper));
+            configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(mapper));
+        };
+    }
+
+    private static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.factory(new SmileFactory()).build();
+    }
+}
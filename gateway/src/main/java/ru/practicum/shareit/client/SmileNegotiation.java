@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.ByteArrayOutputStream;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * Smile, binary json, on the hop between gateway and server: request bodies are sent and responses asked as Smile.
+ * Responses are turned back into json token by token without building objects, clients of the gateway keep json.
+ */
+@Order(500)
+@Component
+@ConditionalOnProperty(name = "shareit.gateway.smile.enabled", havingValue = "true")
+public class SmileNegotiation implements ServerTransportDecorator {
+    public static final MediaType APPLICATION_SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private final SmileFactory smileFactory = new SmileFactory();
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Override
+    public ServerTransport decorate(ServerTransport transport) {
+        return (method, path, headers, parameters, body) -> {
+            final HttpHeaders smileHeaders = new HttpHeaders();
+            smileHeaders.addAll(headers);
+            smileHeaders.setContentType(APPLICATION_SMILE);
+            smileHeaders.setAccept(List.of(APPLICATION_SMILE));
+            return transport.exchange(method, path, smileHeaders, parameters, body).map(this::toJson);
+        };
+    }
+
+    private ResponseEntity<Object> toJson(ResponseEntity<Object> response) {
+        final MediaType contentType = response.getHeaders().getContentType();
+        if (contentType == null || !APPLICATION_SMILE.isCompatibleWith(contentType)) {
+            return response;
+        }
+        final HttpHeaders headers = new HttpHeaders();
+        headers.addAll(response.getHeaders());
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        final Object body = response.getBody() instanceof byte[] ? transcode((byte[]) response.getBody()) : response.getBody();
+        return new ResponseEntity<>(body, headers, response.getStatusCode());
+    }
+
+    private byte[] transcode(byte[] smile) {
+        if (smile.length == 0) {
+            return smile;
+        }
+        final ByteArrayOutputStream json = new ByteArrayOutputStream(smile.length * 2);
+        try (JsonParser parser = smileFactory.createParser(smile);
+             JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            while (parser.nextToken() != null) {
+                generator.copyCurrentEvent(parser);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toByteArray();
+    }
+}
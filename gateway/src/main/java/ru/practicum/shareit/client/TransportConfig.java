@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import java.util.Collections;
+import reactor.core.publisher.Mono;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import static java.util.stream.Collectors.toList;
+
+@Configuration
+public class TransportConfig {
+    public static final String ORIGIN = "originTransport";
+
+    @Bean
+    @Primary
+    public ServerTransport serverTransport(@Qualifier(ORIGIN) ServerTransport origin,
+                                           ObjectProvider<ServerTransportDecorator> decorators) {
+        final List<ServerTransportDecorator> chain = decorators.orderedStream().collect(toList());
+        Collections.reverse(chain);
+        ServerTransport transport = origin;
+        for (ServerTransportDecorator decorator : chain) {
+            transport = decorator.decorate(transport);
+        }
+        return transport;
+    }
+
+    /**
+     * The blocking transport runs the call on the request thread, controllers return its response as is.
+     * Grpc calls complete on the channel threads, the request thread waits for them the same way.
+     */
+    @Bean
+    @ConditionalOnExpression("'${shareit.gateway.transport:blocking}' != 'reactive'")
+    public ResponseAdapter blockingResponseAdapter() {
+        return Mono::block;
+    }
+}
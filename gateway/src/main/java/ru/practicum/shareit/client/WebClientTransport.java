@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import io.netty.channel.ChannelOption;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import org.springframework.lang.Nullable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+/**
+ * Non-blocking transport on Reactor Netty, the request thread is released while the server responds.
+ * Calls over the connection limit wait for a free connection, at most max-pending of them and no longer than
+ * the acquire timeout, the rest fail with ServiceUnavailableException. Connect and response timeouts are the ones
+ * of the blocking transport pool.
+ * In passthrough mode bodies are kept as the server bytes instead of being parsed.
+ */
+@Component(TransportConfig.ORIGIN)
+@ConditionalOnProperty(name = "shareit.gateway.transport", havingValue = "reactive")
+public class WebClientTransport implements ServerTransport, DisposableBean {
+    private static final long RETRY_AFTER_SECONDS = 1;
+    private static final String PENDING_LIMIT_EXCEPTION = "PoolAcquirePendingLimitException";
+    private final ConnectionProvider connections;
+    private final WebClient webClient;
+    private final Class<?> responseType;
+
+    public WebClientTransport(@Value("${shareit.server.url}") String serverUrl,
+                              @Value("${shareit.gateway.reactive.max-connections:500}") int maxConnections,
+                              @Value("${shareit.gateway.reactive.max-pending:1000}") int maxPending,
+                              @Value("${shareit.gateway.pool.connect-timeout:2s}") Duration connectTimeout,
+                              @Value("${shareit.gateway.pool.read-timeout:30s}") Duration readTimeout,
+                              @Value("${shareit.gateway.pool.acquire-timeout:5s}") Duration acquireTimeout,
+                              @Value("${shareit.gateway.passthrough:false}") boolean passthrough,
+                              WebClient.Builder builder) {
+        this.responseType = passthrough ? byte[].class : Object.class;
+        this.connections = ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(acquireTimeout)
+                .build();
+        final HttpClient httpClient = HttpClient.create(connections)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        this.webClient = builder
+                .baseUrl(serverUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, HttpHeaders headers,
+                                                 @Nullable Map<String, Object> parameters, @Nullable Object body) {
+        final WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters == null ? Map.of() : parameters)
+                .headers(it -> it.addAll(headers));
+        return (body == null ? request : request.bodyValue(body))
+                .exchangeToMono(response -> response.toEntity(responseType))
+                .map(response -> new ResponseEntity<>(response.getBody(), response.getHeaders(), response.getStatusCode()))
+                .onErrorMap(WebClientTransport::isPoolExhausted, e -> new ServiceUnavailableException(
+                        "No free connection to the server!", RETRY_AFTER_SECONDS));
+    }
+
+    /**
+     * Pool errors of Reactor Netty are shaded classes: the acquire timeout is a TimeoutException,
+     * a full pending queue is recognized by its name.
+     */
+    private static boolean isPoolExhausted(Throwable e) {
+        final Throwable cause = e instanceof WebClientRequestException ? e.getCause() : e;
+        return cause instanceof TimeoutException
+                || cause != null && PENDING_LIMIT_EXCEPTION.equals(cause.getClass().getSimpleName());
+    }
+
+    @Override
+    public void destroy() {
+        connections.dispose();
+    }
+}
@@ -1,50 +1,76 @@
 package ru.practicum.shareit.item.controller;
 
 import java.util.Map;
+import java.util.List;
+import java.util.HashMap;
+import java.time.LocalDateTime;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StringUtils;
 import org.springframework.stereotype.Service;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.beans.factory.annotation.Autowired;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.client.ResponseAdapter;
 import org.springframework.http.ResponseEntity;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.web.util.DefaultUriBuilderFactory;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
-    @Autowired
-    public ItemClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(ServerTransport transport, ResponseAdapter responseAdapter) {
+        super(transport, responseAdapter, API_PREFIX);
     }
 
     public ResponseEntity<Object> findById(Long userId, Long id) {
         return get("/" + id, userId);
     }
 
-    public ResponseEntity<Object> findAllByText(Long userId, String text) {
-        Map<String, Object> parameters = Map.of(
-                "text", text
-        );
-        return get("/search?text={text}", userId, parameters);
+    public ResponseEntity<Object> findAllByText(Long userId, String text, @Nullable LocalDateTime start, @Nullable LocalDateTime end,
+                                                Integer from, Integer size) {
+        final StringBuilder query = new StringBuilder("/search?text={text}&from={from}&size={size}");
+        final Map<String, Object> parameters = new HashMap<>();
+        parameters.put("text", text);
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (start != null && end != null) {
+            query.append("&start={start}&end={end}");
+            parameters.put("start", start);
+            parameters.put("end", end);
+        }
+        return get(query.toString(), userId, parameters);
+    }
+
+    public ResponseEntity<Object> findAvailability(Long userId, Long id, @Nullable LocalDateTime from, @Nullable LocalDateTime to) {
+        final StringBuilder query = new StringBuilder("/" + id + "/availability");
+        final Map<String, Object> parameters = new HashMap<>();
+        if (from != null) {
+            query.append("?from={from}");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            query.append(from == null ? "?" : "&").append("to={to}");
+            parameters.put("to", to);
+        }
+        return get(query.toString(), userId, parameters);
     }
 
     public ResponseEntity<Object> findAll(Long userId) {
         return get("", userId);
     }
 
+    public ResponseEntity<Object> findAllByIds(Long userId, List<Long> ids) {
+        return get("?ids={ids}", userId, Map.of("ids", StringUtils.collectionToCommaDelimitedString(ids)));
+    }
+
     public ResponseEntity<Object> save(ItemDto dto, Long userId) {
         return post("", userId, dto);
     }
 
+    public ResponseEntity<Object> saveAll(List<ItemDto> dtos, Long userId) {
+        return post("/batch", userId, dtos);
+    }
+
     public ResponseEntity<Object> saveComment(CommentDto dto, Long userId, Long id) {
         return post("/" + id + "/comment", userId, dto);
     }
@@ -53,6 +79,10 @@ public class ItemClient extends BaseClient {
         return patch("/" + id, userId, dto);
     }
 
+    public ResponseEntity<Object> updateAll(List<ItemDto> dtos, Long userId) {
+        return patch("/batch", userId, dtos);
+    }
+
     public ResponseEntity<Object> deleteById(Long userId, Long id) {
         return delete("/" + id, userId);
     }
@@ -1,20 +1,31 @@
 package ru.practicum.shareit.item.controller;
 
+import java.util.List;
 import java.util.Collections;
+import java.time.LocalDateTime;
+import org.springframework.format.annotation.DateTimeFormat;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
+import javax.validation.Valid;
+import javax.validation.constraints.Size;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.marker.Create;
+import ru.practicum.shareit.marker.Update;
 
 @Slf4j
+@Validated
 @RestController
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
+    private static final int MAX_BATCH_SIZE = 1000;
     private final ItemClient itemClient;
 
     @GetMapping("{id}")
@@ -25,9 +36,30 @@ public class ItemController {
 
     @GetMapping("/search")
     public ResponseEntity<Object> findAllByText(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                       @RequestParam(value = "text") String text) {
-        log.info("Send get request /items/search?text={}", text);
-        return text.isBlank() ? ResponseEntity.ok(Collections.emptyList()) : itemClient.findAllByText(userId, text);
+                                                @RequestParam(value = "text") String text,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                                @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                                @RequestParam(defaultValue = "0") @PositiveOrZero Integer from,
+                                                @RequestParam(defaultValue = "10") @Positive Integer size) {
+        log.info("Send get request /items/search?text={}&start={}&end={}&from={}&size={}", text, start, end, from, size);
+        if ((start == null) != (end == null)) {
+            throw new IllegalArgumentException("Window start and end must be set together!");
+        }
+        if (start != null && !start.isBefore(end)) {
+            throw new IllegalArgumentException(String.format("Window start=%s must be before end=%s!", start, end));
+        }
+        return text.isBlank() ? ResponseEntity.ok(Collections.emptyList()) : itemClient.findAllByText(userId, text, start, end, from, size);
+    }
+
+    @GetMapping("/{id}/availability")
+    public ResponseEntity<Object> findAvailability(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long id,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Send get request /items/{}/availability?from={}&to={}", id, from, to);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException(String.format("Window from=%s must be before to=%s!", from, to));
+        }
+        return itemClient.findAvailability(userId, id, from, to);
     }
 
     @GetMapping
@@ -36,12 +68,27 @@ public class ItemController {
         return itemClient.findAll(userId);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> findAllByIds(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @RequestParam @NotEmpty @Size(max = 100) List<Long> ids) {
+        log.info("Send get request /items?ids={}", ids);
+        return itemClient.findAllByIds(userId, ids);
+    }
+
     @PostMapping
     public ResponseEntity<Object> save(@Validated({Create.class}) @RequestBody ItemDto itemDto, @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Send post request /items");
         return itemClient.save(itemDto, userId);
     }
 
+    @Validated({Create.class})
+    @PostMapping("/batch")
+    public ResponseEntity<Object> saveAll(@RequestBody @NotEmpty(groups = {Create.class}) @Size(max = MAX_BATCH_SIZE, groups = {Create.class})
+                                          List<@Valid ItemDto> itemDtos, @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Send post request /items/batch, rows={}", itemDtos.size());
+        return itemClient.saveAll(itemDtos, userId);
+    }
+
     @PostMapping("/{id}/comment")
     public ResponseEntity<Object> saveComment(@Validated({Create.class}) @RequestBody CommentDto commentDto,
                                               @RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long id) {
@@ -55,6 +102,14 @@ public class ItemController {
         return itemClient.update(itemDto, userId, id);
     }
 
+    @Validated({Update.class})
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> updateAll(@RequestBody @NotEmpty(groups = {Update.class}) @Size(max = MAX_BATCH_SIZE, groups = {Update.class})
+                                            List<@Valid ItemDto> itemDtos, @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Send patch request /items/batch, rows={}", itemDtos.size());
+        return itemClient.updateAll(itemDtos, userId);
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Object> deleteById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long id) {
         log.info("Send delete request /items/{}", id);
@@ -5,12 +5,15 @@ import java.util.Set;
 import javax.validation.constraints.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.marker.Create;
+import ru.practicum.shareit.marker.Update;
 
 @Setter
 @Getter
 @Builder
 @ToString
 public class ItemDto {
+    @Null(groups = {Create.class})
+    @NotNull(groups = {Update.class})
     private Long id;
     @NotBlank(groups = {Create.class})
     private String name;
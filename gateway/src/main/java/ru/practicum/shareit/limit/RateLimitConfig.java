@@ -0,0 +1,54 @@
+package ru.practicum.shareit.limit;
+
+import java.util.Set;
+import java.util.Map;
+import java.util.List;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+/**
+ * Rate limit of every controller call, see RateLimitInterceptor.
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RateLimitConfig.RateLimitProperties.class)
+@ConditionalOnProperty(name = "shareit.gateway.rate-limit.enabled", havingValue = "true")
+public class RateLimitConfig implements WebMvcConfigurer {
+    private final RateLimitInterceptor rateLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor);
+    }
+
+    @Getter
+    @Setter
+    @ConfigurationProperties(prefix = "shareit.gateway.rate-limit")
+    public static class RateLimitProperties {
+        private long maxBuckets = 100_000;
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        private Map<String, Group> groups = new LinkedHashMap<>();
+    }
+
+    /**
+     * Requests matching the methods and paths of a group, empty means any. Groups with paths are matched first.
+     */
+    @Getter
+    @Setter
+    public static class Group {
+        private Set<HttpMethod> methods = Set.of();
+        private List<String> paths = List.of();
+        private long capacity = 100;
+        private double refillPerSecond = 50;
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.limit;
+
+import java.util.Map;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.limit.RateLimitConfig.Group;
+import ru.practicum.shareit.limit.RateLimitConfig.RateLimitProperties;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Token bucket per user and route group, the user is X-Sharer-User-Id or the client address without it.
+ * Buckets idle for shareit.gateway.rate-limit.idle-timeout are dropped, an idle bucket is full again anyway.
+ * Rejected calls are answered with 429 and Retry-After, counted as gateway.rate-limit.rejected with tag group.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.gateway.rate-limit.enabled", havingValue = "true")
+public class RateLimitInterceptor implements HandlerInterceptor, MeterBinder {
+    private static final String METRIC_NAME = "gateway.rate-limit.rejected";
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final List<Map.Entry<String, Group>> groups;
+    private final Map<String, LongAdder> rejected = new HashMap<>();
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimitInterceptor(RateLimitProperties properties) {
+        this.groups = properties.getGroups().entrySet().stream()
+                .sorted(Comparator.comparing(group -> group.getValue().getPaths().isEmpty()))
+                .collect(toList());
+        for (Map.Entry<String, Group> group : groups) {
+            final long refillSeconds = (long) Math.ceil(group.getValue().getCapacity() / group.getValue().getRefillPerSecond());
+            if (properties.getIdleTimeout().toSeconds() < refillSeconds) {
+                throw new IllegalArgumentException(String.format("Rate limit idle timeout is shorter than %ds refill of group %s!",
+                        refillSeconds, group.getKey()));
+            }
+            rejected.put(group.getKey(), new LongAdder());
+        }
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Mono results are written by a second, async dispatch of the same request
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        final HttpMethod method = HttpMethod.resolve(request.getMethod());
+        final String path = request.getRequestURI();
+        final Map.Entry<String, Group> group = groups.stream()
+                .filter(it -> matches(it.getValue(), method, path))
+                .findFirst()
+                .orElse(null);
+        if (group == null) {
+            return true;
+        }
+        final String userId = request.getHeader(ServerTransport.USER_HEADER);
+        final String user = userId != null ? userId : request.getRemoteAddr();
+        final long now = System.nanoTime();
+        final long wait = buckets.get(group.getKey() + " " + user,
+                key -> new TokenBucket(group.getValue().getCapacity(), group.getValue().getRefillPerSecond(), now))
+                .tryTake(now);
+        if (wait > 0) {
+            rejected.get(group.getKey()).increment();
+            throw new TooManyRequestsException(String.format("Too many %s requests of user %s!", group.getKey(), user),
+                    Math.max(1, (wait + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+        }
+        return true;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        rejected.forEach((group, counter) -> FunctionCounter.builder(METRIC_NAME, counter, LongAdder::sum)
+                .tag("group", group)
+                .description("Requests rejected by the per user rate limit")
+                .register(registry));
+    }
+
+    private boolean matches(Group group, HttpMethod method, String path) {
+        return (group.getMethods().isEmpty() || group.getMethods().contains(method)) &&
+                (group.getPaths().isEmpty() || group.getPaths().stream().anyMatch(pattern -> matcher.match(pattern, path)));
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.limit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket without locks. The only state is the time the bucket is full again,
+ * every taken token moves it one refill interval forward by compare and set.
+ */
+public final class TokenBucket {
+    private final long nanosPerToken;
+    private final long capacityNanos;
+    private final AtomicLong fullAt;
+
+    /**
+     * @param capacity Tokens the bucket holds, the allowed burst.
+     * @param refillPerSecond Tokens added per second, the sustained rate.
+     * @param now Current time, System.nanoTime.
+     */
+    public TokenBucket(long capacity, double refillPerSecond, long now) {
+        this.nanosPerToken = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.capacityNanos = capacity * nanosPerToken;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    /**
+     * Take one token.
+     * @param now Current time, System.nanoTime.
+     * @return Zero if the token is taken, otherwise nanos until the next token is added.
+     */
+    public long tryTake(long now) {
+        while (true) {
+            final long current = fullAt.get();
+            final long next = (current - now > 0 ? current : now) + nanosPerToken;
+            final long wait = next - now - capacityNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
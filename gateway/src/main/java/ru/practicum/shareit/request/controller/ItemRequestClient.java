@@ -1,28 +1,21 @@
 package ru.practicum.shareit.request.controller;
 
 import java.util.Map;
+import java.util.List;
 import org.springframework.stereotype.Service;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.StringUtils;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.client.ResponseAdapter;
 import org.springframework.http.ResponseEntity;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.web.util.DefaultUriBuilderFactory;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
-    @Autowired
-    public ItemRequestClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(ServerTransport transport, ResponseAdapter responseAdapter) {
+        super(transport, responseAdapter, API_PREFIX);
     }
 
     public ResponseEntity<Object> findById(Long userId, Long id) {
@@ -33,6 +26,10 @@ public class ItemRequestClient extends BaseClient {
         return get("", userId);
     }
 
+    public ResponseEntity<Object> findAllByIds(Long userId, List<Long> ids) {
+        return get("?ids={ids}", userId, Map.of("ids", StringUtils.collectionToCommaDelimitedString(ids)));
+    }
+
     public ResponseEntity<Object> findByPage(Long userId, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
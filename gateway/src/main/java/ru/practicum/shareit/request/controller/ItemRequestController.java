@@ -1,7 +1,10 @@
 package ru.practicum.shareit.request.controller;
 
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
+import javax.validation.constraints.Size;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
 import org.springframework.http.ResponseEntity;
@@ -30,6 +33,13 @@ public class ItemRequestController {
         return requestClient.findAll(userId);
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> findAllByIds(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                               @RequestParam @NotEmpty @Size(max = 100) List<Long> ids) {
+        log.info("Send get request /requests?ids={}", ids);
+        return requestClient.findAllByIds(userId, ids);
+    }
+
     @GetMapping("/all")
     public ResponseEntity<Object> findByPage(@RequestHeader("X-Sharer-User-Id") Long userId,
                                              @RequestParam(name = "from", defaultValue = "0") @PositiveOrZero Integer from,
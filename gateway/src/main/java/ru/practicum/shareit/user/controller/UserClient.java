@@ -1,27 +1,21 @@
 package ru.practicum.shareit.user.controller;
 
+import java.util.Map;
+import java.util.List;
 import org.springframework.stereotype.Service;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.util.StringUtils;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerTransport;
+import ru.practicum.shareit.client.ResponseAdapter;
 import org.springframework.http.ResponseEntity;
-import org.springframework.boot.web.client.RestTemplateBuilder;
-import org.springframework.web.util.DefaultUriBuilderFactory;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
-    @Autowired
-    public UserClient(@Value("${shareit.server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public UserClient(ServerTransport transport, ResponseAdapter responseAdapter) {
+        super(transport, responseAdapter, API_PREFIX);
     }
 
     public ResponseEntity<Object> findById(Long id) {
@@ -32,6 +26,10 @@ public class UserClient extends BaseClient {
         return get("");
     }
 
+    public ResponseEntity<Object> findAllByIds(List<Long> ids) {
+        return get("?ids={ids}", null, Map.of("ids", StringUtils.collectionToCommaDelimitedString(ids)));
+    }
+
     public ResponseEntity<Object> save(UserDto dto) {
         return post("", dto);
     }
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.user.controller;
 
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
+import javax.validation.constraints.Size;
+import javax.validation.constraints.NotEmpty;
 import org.springframework.validation.annotation.Validated;
 import ru.practicum.shareit.user.dto.UserDto;
 import org.springframework.web.bind.annotation.*;
@@ -10,6 +13,7 @@ import ru.practicum.shareit.marker.Create;
 import ru.practicum.shareit.marker.Update;
 
 @Slf4j
+@Validated
 @RestController
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -28,6 +32,12 @@ public class UserController {
         return userClient.findAll();
     }
 
+    @GetMapping(params = "ids")
+    public ResponseEntity<Object> findAllByIds(@RequestParam @NotEmpty @Size(max = 100) List<Long> ids) {
+        log.info("Send get request /users?ids={}", ids);
+        return userClient.findAllByIds(ids);
+    }
+
     @PostMapping
     public ResponseEntity<Object> save(@Validated({Create.class}) @RequestBody UserDto userDto) {
         log.info("Send post request /users");
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.booking.controller;
+
+import java.util.Collections;
+import org.mockito.Mockito;
+import ru.practicum.shareit.booking.dto.BookingState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookingController.class)
+class BookingControllerTest {
+    private static final String CURSOR = "MjAzMC0wMS0wMVQxMDowMDo1";
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private BookingClient bookingClient;
+
+    @Test
+    @DisplayName("Send GET request /bookings?state={state}&size={size}&cursor={cursor}")
+    void findAllByBookerIdWithCursor() throws Exception {
+        Mockito.when(bookingClient.findAllByBookerId(1L, BookingState.PAST, 0, 20, CURSOR))
+                .thenReturn(ResponseEntity.ok(Collections.emptyList()));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/bookings?state=past&size=20&cursor={cursor}", CURSOR)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(MockMvcResultMatchers.request().asyncNotStarted())
+                .andExpect(status().isOk());
+
+        Mockito.verify(bookingClient, Mockito.times(1)).findAllByBookerId(1L, BookingState.PAST, 0, 20, CURSOR);
+    }
+
+    @Test
+    @DisplayName("Send GET request /bookings/owner?state={state}&size={size}&cursor={cursor}")
+    void findAllByItemOwnerIdWithCursor() throws Exception {
+        Mockito.when(bookingClient.findAllByItemOwnerId(1L, BookingState.ALL, 0, 10, CURSOR))
+                .thenReturn(ResponseEntity.ok(Collections.emptyList()));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/bookings/owner?cursor={cursor}", CURSOR)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(MockMvcResultMatchers.request().asyncNotStarted())
+                .andExpect(status().isOk());
+
+        Mockito.verify(bookingClient, Mockito.times(1)).findAllByItemOwnerId(1L, BookingState.ALL, 0, 10, CURSOR);
+    }
+
+    @Test
+    @DisplayName("Send GET request /bookings?state={state} with unknown state")
+    void findAllByBookerIdWithUnknownState() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/bookings?state=UNSUPPORTED_STATUS&cursor={cursor}", CURSOR)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isInternalServerError())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error").value("Unknown state: UNSUPPORTED_STATUS"));
+
+        Mockito.verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    @DisplayName("Send GET request /bookings?size={size} with wrong size")
+    void findAllByBookerIdWithWrongSize() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/bookings?size=0&cursor={cursor}", CURSOR)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(bookingClient);
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import java.util.ArrayList;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+    private List<Sinks.One<ResponseEntity<Object>>> calls;
+    private SimpleMeterRegistry registry;
+    private ServerTransport transport;
+
+    @BeforeEach
+    void init() {
+        calls = new ArrayList<>();
+        registry = new SimpleMeterRegistry();
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 10, 0.2, 1.5, 600);
+        limiter.bindTo(registry);
+        transport = limiter.decorate((method, path, headers, parameters, body) -> Mono.defer(() -> {
+            final Sinks.One<ResponseEntity<Object>> call = Sinks.one();
+            calls.add(call);
+            return call.asMono();
+        }));
+    }
+
+    @Test
+    void shedsCallsOverLimit() {
+        get().subscribe();
+        get().subscribe();
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class, () -> get().block());
+
+        assertEquals(1, exception.getRetryAfterSeconds());
+        assertEquals(2, calls.size());
+        assertEquals(2.0, registry.get("gateway.concurrency.in-flight").gauge().value());
+        assertEquals(1.0, registry.get("gateway.concurrency.shed").functionCounter().count());
+    }
+
+    @Test
+    void releasesFinishedCalls() {
+        get().subscribe();
+        get().subscribe(it -> { }, e -> { });
+
+        calls.get(0).tryEmitValue(ResponseEntity.ok().build());
+        calls.get(1).tryEmitError(new IllegalStateException("Server is down"));
+        get().subscribe();
+
+        assertEquals(3, calls.size());
+        assertEquals(1.0, registry.get("gateway.concurrency.in-flight").gauge().value());
+    }
+
+    @Test
+    void releasesCancelledCalls() {
+        get().subscribe().dispose();
+        get().subscribe().dispose();
+
+        get().subscribe();
+
+        assertEquals(3, calls.size());
+    }
+
+    @Test
+    void lowersLimitOnServerErrors() {
+        get().subscribe();
+        calls.get(0).tryEmitValue(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+
+        assertEquals(1.0, registry.get("gateway.concurrency.limit").gauge().value());
+    }
+
+    private Mono<ResponseEntity<Object>> get() {
+        return transport.exchange(HttpMethod.GET, "/items/1", ServerTransport.defaultHeaders(1L), null, null);
+    }
+}
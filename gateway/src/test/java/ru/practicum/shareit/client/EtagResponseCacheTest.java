@@ -0,0 +1,114 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.ArrayDeque;
+import reactor.core.publisher.Mono;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EtagResponseCacheTest {
+    private static final String ETAG = "\"0a1b2c\"";
+    private Deque<ResponseEntity<Object>> responses;
+    private List<HttpHeaders> requests;
+    private ServerTransport transport;
+
+    @BeforeEach
+    void init() {
+        responses = new ArrayDeque<>();
+        requests = new ArrayList<>();
+        transport = new EtagResponseCache(List.of("/items/*", "/users/*"), 1024 * 1024, 600)
+                .decorate((method, path, headers, parameters, body) -> {
+                    requests.add(headers);
+                    return Mono.just(responses.poll());
+                });
+    }
+
+    @Test
+    void answersNotModifiedWithCachedResponse() {
+        responses.add(ok("{\"id\":1}", ETAG));
+        responses.add(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(ETAG).build());
+
+        ResponseEntity<Object> first = get("/items/1", 1L);
+        ResponseEntity<Object> second = get("/items/1", 1L);
+
+        assertNull(requests.get(0).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(ETAG, requests.get(1).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertArrayEquals((byte[]) first.getBody(), (byte[]) second.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, second.getHeaders().getContentType());
+        assertEquals(ETAG, second.getHeaders().getETag());
+    }
+
+    @Test
+    void replacesChangedResponse() {
+        responses.add(ok("{\"id\":1}", ETAG));
+        responses.add(ok("{\"id\":1,\"name\":\"Saw\"}", "\"3d4e5f\""));
+        responses.add(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        get("/items/1", 1L);
+        get("/items/1", 1L);
+        ResponseEntity<Object> third = get("/items/1", 1L);
+
+        assertEquals("\"3d4e5f\"", requests.get(2).getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("{\"id\":1,\"name\":\"Saw\"}", new String((byte[]) third.getBody()));
+    }
+
+    @Test
+    void forgetsResponseOnError() {
+        responses.add(ok("{\"id\":1}", ETAG));
+        responses.add(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        responses.add(ok("{\"id\":1}", ETAG));
+
+        get("/items/1", 1L);
+        ResponseEntity<Object> second = get("/items/1", 1L);
+        get("/items/1", 1L);
+
+        assertEquals(HttpStatus.NOT_FOUND, second.getStatusCode());
+        assertNull(requests.get(2).getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    void keepsResponsesPerUser() {
+        responses.add(ok("{\"id\":1}", ETAG));
+        responses.add(ok("{\"id\":1}", ETAG));
+
+        get("/items/1", 1L);
+        get("/items/1", 2L);
+
+        assertNull(requests.get(1).getFirst(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    void skipsOtherPathsAndMethods() {
+        responses.add(ok("[]", ETAG));
+        responses.add(ok("[]", ETAG));
+        responses.add(ok("{}", ETAG));
+        responses.add(ok("{}", ETAG));
+
+        get("/bookings/owner", 1L);
+        get("/bookings/owner", 1L);
+        transport.exchange(HttpMethod.PATCH, "/items/1", ServerTransport.defaultHeaders(1L), null, "{}").block();
+        transport.exchange(HttpMethod.PATCH, "/items/1", ServerTransport.defaultHeaders(1L), null, "{}").block();
+
+        assertTrue(requests.stream().noneMatch(it -> it.containsKey(HttpHeaders.IF_NONE_MATCH)));
+    }
+
+    private ResponseEntity<Object> get(String path, Long userId) {
+        return transport.exchange(HttpMethod.GET, path, ServerTransport.defaultHeaders(userId), null, null).block();
+    }
+
+    private static ResponseEntity<Object> ok(String body, String etag) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .body(body.getBytes());
+    }
+}
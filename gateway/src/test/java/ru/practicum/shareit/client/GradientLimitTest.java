@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimitTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+    private GradientLimit limit;
+
+    @BeforeEach
+    void init() {
+        limit = new GradientLimit(20, 10, 200, 0.2, 1.5, 600);
+    }
+
+    @Test
+    void growsWhileServerAnswersAsUsual() {
+        samples(FAST, 50);
+
+        assertTrue(limit.getLimit() > 20);
+        assertTrue(limit.getLimit() <= 200);
+    }
+
+    @Test
+    void dropsUnderLatencyAndRecovers() {
+        samples(FAST, 50);
+        final int usual = limit.getLimit();
+
+        samples(SLOW, 20);
+        final int slowedDown = limit.getLimit();
+        samples(FAST, 50);
+
+        assertTrue(slowedDown < usual);
+        assertTrue(slowedDown >= 10);
+        assertTrue(limit.getLimit() > slowedDown);
+    }
+
+    @Test
+    void backsOffOnDroppedCalls() {
+        limit.onSample(FAST, 20, true);
+
+        assertEquals(18, limit.getLimit());
+    }
+
+    @Test
+    void keepsLimitWhileMostOfItIsUnused() {
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(FAST, 5, false);
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void staysWithinBounds() {
+        samples(FAST, 1000);
+        assertEquals(200, limit.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(SLOW, limit.getLimit(), true);
+        }
+        assertEquals(10, limit.getLimit());
+    }
+
+    private void samples(long rttNanos, int count) {
+        for (int i = 0; i < count; i++) {
+            limit.onSample(rttNanos, limit.getLimit(), false);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicReference;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.ManagedChannel;
+import io.grpc.stub.StreamObserver;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.grpc.*;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GrpcTransportTest {
+    private final AtomicReference<Object> received = new AtomicReference<>();
+    private Server server;
+    private ManagedChannel channel;
+    private GrpcTransport transport;
+
+    @BeforeEach
+    void init() throws Exception {
+        final String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(new UserServiceGrpc.UserServiceImplBase() {
+                    @Override
+                    public void findById(IdRequest request, StreamObserver<UserMessage> responseObserver) {
+                        if (request.getId() != 1) {
+                            responseObserver.onError(Status.NOT_FOUND
+                                    .withDescription(String.format("User with id=%d not found!", request.getId()))
+                                    .asRuntimeException());
+                            return;
+                        }
+                        responseObserver.onNext(UserMessage.newBuilder().setId(1L).setName("Nikolas").build());
+                        responseObserver.onCompleted();
+                    }
+
+                    @Override
+                    public void findAllByIds(IdsRequest request, StreamObserver<UserList> responseObserver) {
+                        received.set(request);
+                        responseObserver.onNext(UserList.getDefaultInstance());
+                        responseObserver.onCompleted();
+                    }
+
+                    @Override
+                    public void update(UpdateUserRequest request, StreamObserver<UserMessage> responseObserver) {
+                        received.set(request);
+                        responseObserver.onNext(request.getUser().toBuilder().setId(request.getId()).build());
+                        responseObserver.onCompleted();
+                    }
+                })
+                .addService(new BookingServiceGrpc.BookingServiceImplBase() {
+                    @Override
+                    public void findAllByItemOwnerId(BookingsRequest request, StreamObserver<BookingPage> responseObserver) {
+                        received.set(request);
+                        responseObserver.onNext(BookingPage.newBuilder()
+                                .addBookings(BookingInfoMessage.newBuilder()
+                                        .setId(1L)
+                                        .setStatus("WAITING")
+                                        .setBooker(BookerMessage.newBuilder().setId(2L)))
+                                .setNextCursor("cursor")
+                                .build());
+                        responseObserver.onCompleted();
+                    }
+
+                    @Override
+                    public void save(SaveBookingRequest request, StreamObserver<BookingInfoMessage> responseObserver) {
+                        received.set(request);
+                        responseObserver.onError(Status.ALREADY_EXISTS.withDescription("Item is booked!").asRuntimeException());
+                    }
+                })
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name)
+                .directExecutor()
+                .build();
+        final ObjectMapper mapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        transport = new GrpcTransport(channel, mapper, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+    }
+
+    @Test
+    void exchange() {
+        ResponseEntity<Object> response = exchange(HttpMethod.GET, "/users/1", null, null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("{\"id\":1,\"name\":\"Nikolas\",\"email\":null}", new String((byte[]) response.getBody()));
+    }
+
+    @Test
+    void exchangeByNotFoundId() {
+        ResponseEntity<Object> response = exchange(HttpMethod.GET, "/users/99", null, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("{\"error\":\"User with id=99 not found!\",\"statusCode\":404}", new String((byte[]) response.getBody()));
+    }
+
+    @Test
+    void exchangeByQueryParameter() {
+        ResponseEntity<Object> response = exchange(HttpMethod.GET, "/users?ids={ids}", Map.of("ids", "1,2"), null);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("[]", new String((byte[]) response.getBody()));
+        assertEquals(2, ((IdsRequest) received.get()).getIdsCount());
+    }
+
+    @Test
+    void exchangeWithBody() {
+        ResponseEntity<Object> response = exchange(HttpMethod.PATCH, "/users/1", null, new UserDto(null, "Djon", null));
+
+        UpdateUserRequest request = (UpdateUserRequest) received.get();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1L, request.getId());
+        assertEquals("Djon", request.getUser().getName());
+        assertFalse(request.getUser().hasEmail());
+    }
+
+    @Test
+    void exchangeByPage() {
+        ResponseEntity<Object> response = exchange(HttpMethod.GET, "/bookings/owner?state={state}&from={from}&size={size}",
+                Map.of("state", BookingState.WAITING, "from", 0, "size", 1), null);
+
+        BookingsRequest request = (BookingsRequest) received.get();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("cursor", response.getHeaders().getFirst(GrpcTransport.NEXT_CURSOR_HEADER));
+        assertEquals("WAITING", request.getState());
+        assertEquals(1, request.getSize());
+        assertFalse(request.hasCursor());
+    }
+
+    @Test
+    void exchangeWithConflict() {
+        final LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        ResponseEntity<Object> response = exchange(HttpMethod.POST, "/bookings", null,
+                new BookingDto(null, start, start.plusDays(1), 1L, null));
+
+        SaveBookingRequest request = (SaveBookingRequest) received.get();
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertEquals(1L, request.getBooking().getItemId());
+        assertEquals(start, LocalDateTime.parse(request.getBooking().getStart()));
+    }
+
+    @Test
+    void exchangeByUnimplementedMethod() {
+        ResponseEntity<Object> response = exchange(HttpMethod.GET, "/items/1", null, null);
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+    }
+
+    @Test
+    void exchangeByUnknownRoute() {
+        ResponseEntity<Object> response = exchange(HttpMethod.PUT, "/users/1", null, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    private ResponseEntity<Object> exchange(HttpMethod method, String path, Map<String, Object> parameters, Object body) {
+        return transport.exchange(method, path, ServerTransport.defaultHeaders(1L), parameters, body)
+                .block(Duration.ofSeconds(5));
+    }
+}
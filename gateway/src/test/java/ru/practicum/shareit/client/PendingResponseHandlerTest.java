@@ -0,0 +1,83 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.servlet.AsyncListener;
+import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import ru.practicum.shareit.user.controller.UserClient;
+import ru.practicum.shareit.user.controller.UserController;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+
+@WebMvcTest(controllers = UserController.class, properties = "shareit.gateway.transport=reactive")
+class PendingResponseHandlerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private UserClient userClient;
+
+    @Test
+    @DisplayName("Send GET request /users/{id} answered asynchronously")
+    void findById() throws Exception {
+        Mockito.when(userClient.findById(1L)).thenReturn(new PendingResponse(Mono.just(
+                ResponseEntity.status(HttpStatus.NOT_FOUND).body(Map.of("error", "User not found!")))));
+
+        final MvcResult result = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/users/1"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.error").value("User not found!"));
+    }
+
+    @Test
+    @DisplayName("Send GET request /users/{id} with failed server call")
+    void findByIdWithError() throws Exception {
+        Mockito.when(userClient.findById(1L)).thenReturn(new PendingResponse(Mono.error(
+                new ServiceUnavailableException("Server is busy!", 1))));
+
+        final MvcResult result = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/users/1"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        this.mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(MockMvcResultMatchers.header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @DisplayName("Send GET request /users/{id} with timed out server call")
+    void findByIdWithTimeout() throws Exception {
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        Mockito.when(userClient.findById(1L)).thenReturn(new PendingResponse(Mono.<ResponseEntity<Object>>never()
+                .doOnCancel(() -> cancelled.set(true))));
+
+        final MvcResult result = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/users/1"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        assertFalse(cancelled.get());
+        final MockAsyncContext asyncContext = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : asyncContext.getListeners()) {
+            listener.onTimeout(null);
+        }
+
+        assertTrue(cancelled.get());
+    }
+}
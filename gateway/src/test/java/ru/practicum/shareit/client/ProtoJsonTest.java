@@ -0,0 +1,56 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.grpc.ItemMessage;
+import ru.practicum.shareit.grpc.BookingMessage;
+import ru.practicum.shareit.grpc.CommentInfoMessage;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProtoJsonTest {
+    private static final ItemMessage ITEM = ItemMessage.newBuilder()
+            .setId(1L)
+            .setName("Drill")
+            .setAvailable(true)
+            .setNextBooking(BookingMessage.newBuilder().setId(2L).setStart("2030-01-01T10:00:00"))
+            .addComments(CommentInfoMessage.newBuilder().setText("Very good drill!").setAuthorName("Bob"))
+            .build();
+
+    @Test
+    void toJson() {
+        String json = new String(ProtoJson.toJson(ITEM));
+
+        assertEquals("{\"id\":1,\"name\":\"Drill\",\"description\":null,\"available\":true,\"requestId\":null,"
+                + "\"lastBooking\":null,"
+                + "\"nextBooking\":{\"id\":2,\"start\":\"2030-01-01T10:00:00\",\"end\":null,\"itemId\":null,\"bookerId\":null},"
+                + "\"comments\":[{\"id\":null,\"text\":\"Very good drill!\",\"authorName\":\"Bob\",\"created\":null}]}", json);
+    }
+
+    @Test
+    void toJsonByList() {
+        assertEquals("[]", new String(ProtoJson.toJson(List.of())));
+        assertTrue(new String(ProtoJson.toJson(List.of(ITEM, ITEM))).startsWith("[{\"id\":1,"));
+    }
+
+    @Test
+    void merge() throws Exception {
+        final ObjectMapper mapper = new ObjectMapper();
+
+        ItemMessage item = ProtoJson.merge(mapper.readTree(ProtoJson.toJson(ITEM)), ItemMessage.newBuilder()).build();
+
+        assertEquals(ITEM, item);
+    }
+
+    @Test
+    void mergeWithUnknownFields() throws Exception {
+        final ObjectMapper mapper = new ObjectMapper();
+
+        ItemMessage item = ProtoJson.merge(mapper.readTree("{\"name\":\"Drill\",\"owner\":1,\"available\":null}"),
+                ItemMessage.newBuilder()).build();
+
+        assertEquals("Drill", item.getName());
+        assertFalse(item.hasAvailable());
+        assertFalse(item.hasId());
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+    private List<Sinks.One<ResponseEntity<Object>>> calls;
+    private AtomicInteger cancelled;
+    private ServerTransport transport;
+
+    @BeforeEach
+    void init() {
+        calls = new CopyOnWriteArrayList<>();
+        cancelled = new AtomicInteger();
+        transport = new RequestCoalescer().decorate((method, path, headers, parameters, body) -> Mono.defer(() -> {
+            final Sinks.One<ResponseEntity<Object>> call = Sinks.one();
+            calls.add(call);
+            return call.asMono().doOnCancel(cancelled::incrementAndGet);
+        }));
+    }
+
+    @Test
+    void sharesOneServerCall() {
+        AtomicReference<Object> first = new AtomicReference<>();
+        AtomicReference<Object> second = new AtomicReference<>();
+        get(1L).subscribe(first::set);
+        get(1L).subscribe(second::set);
+
+        calls.get(0).tryEmitValue(ResponseEntity.ok("drill"));
+
+        assertEquals(1, calls.size());
+        assertEquals("drill", ((ResponseEntity<?>) first.get()).getBody());
+        assertEquals("drill", ((ResponseEntity<?>) second.get()).getBody());
+    }
+
+    @Test
+    void doesNotShareCallsOfOtherUsersAndMethods() {
+        get(1L).subscribe();
+        get(2L).subscribe();
+        transport.exchange(HttpMethod.POST, "/items", ServerTransport.defaultHeaders(1L), null, "{}").subscribe();
+        transport.exchange(HttpMethod.POST, "/items", ServerTransport.defaultHeaders(1L), null, "{}").subscribe();
+
+        assertEquals(4, calls.size());
+    }
+
+    @Test
+    void removesCallOnComplete() {
+        get(1L).subscribe();
+        calls.get(0).tryEmitValue(ResponseEntity.ok("drill"));
+
+        get(1L).subscribe();
+
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void removesCallOnError() {
+        AtomicReference<Throwable> first = new AtomicReference<>();
+        AtomicReference<Throwable> second = new AtomicReference<>();
+        get(1L).subscribe(it -> { }, first::set);
+        get(1L).subscribe(it -> { }, second::set);
+
+        calls.get(0).tryEmitError(new IllegalStateException("Server is down"));
+        get(1L).subscribe(it -> { }, e -> { });
+
+        assertEquals("Server is down", first.get().getMessage());
+        assertEquals("Server is down", second.get().getMessage());
+        assertEquals(2, calls.size());
+    }
+
+    @Test
+    void keepsCallWhileOneWaiterIsLeft() {
+        AtomicReference<Object> second = new AtomicReference<>();
+        Disposable first = get(1L).subscribe();
+        get(1L).subscribe(second::set);
+
+        first.dispose();
+        calls.get(0).tryEmitValue(ResponseEntity.ok("drill"));
+
+        assertEquals(0, cancelled.get());
+        assertEquals(1, calls.size());
+        assertEquals("drill", ((ResponseEntity<?>) second.get()).getBody());
+    }
+
+    @Test
+    void removesCallOnCancelOfAllWaiters() {
+        Disposable first = get(1L).subscribe();
+        Disposable second = get(1L).subscribe();
+
+        first.dispose();
+        second.dispose();
+        get(1L).subscribe();
+
+        assertEquals(1, cancelled.get());
+        assertEquals(2, calls.size());
+    }
+
+    private Mono<ResponseEntity<Object>> get(Long userId) {
+        return transport.exchange(HttpMethod.GET, "/items/1", ServerTransport.defaultHeaders(userId), null, null);
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.client;
+
+import java.util.Map;
+import java.util.Set;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RestTemplateTransportTest {
+    private HttpServer server;
+    private ExecutorService executor;
+    private Set<Integer> clientPorts;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+
+    @BeforeEach
+    void init() throws Exception {
+        clientPorts = ConcurrentHashMap.newKeySet();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            final boolean found = exchange.getRequestURI().getPath().equals("/items/1");
+            final byte[] body = (found ? "{\"id\":1,\"name\":\"Drill\"}" : "{\"error\":\"Item not found!\"}").getBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(found ? 200 : 404, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        HttpClientConfig config = new HttpClientConfig();
+        HttpClientConfig.PoolProperties properties = new HttpClientConfig.PoolProperties();
+        connectionManager = config.serverConnectionManager(properties);
+        httpClient = config.serverHttpClient(connectionManager, properties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        httpClient.close();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void exchangeWithPassthrough() {
+        ResponseEntity<Object> response = get(transport(true), "/items/1");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("{\"id\":1,\"name\":\"Drill\"}", new String((byte[]) response.getBody()));
+    }
+
+    @Test
+    void exchangeWithoutPassthrough() {
+        ResponseEntity<Object> response = get(transport(false), "/items/1");
+
+        assertEquals(Map.of("id", 1, "name", "Drill"), response.getBody());
+    }
+
+    @Test
+    void exchangeWithErrorStatus() {
+        ResponseEntity<Object> response = get(transport(true), "/items/99");
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals("{\"error\":\"Item not found!\"}", new String((byte[]) response.getBody()));
+    }
+
+    @Test
+    void reusesPooledConnection() {
+        RestTemplateTransport transport = transport(true);
+        for (int i = 0; i < 5; i++) {
+            get(transport, "/items/1");
+            get(transport, "/items/99");
+        }
+
+        assertEquals(1, clientPorts.size());
+        assertEquals(0, connectionManager.getTotalStats().getLeased());
+        assertEquals(1, connectionManager.getTotalStats().getAvailable());
+    }
+
+    private RestTemplateTransport transport(boolean passthrough) {
+        return new RestTemplateTransport("http://localhost:" + server.getAddress().getPort(), passthrough,
+                new RestTemplateBuilder(), httpClient);
+    }
+
+    private static ResponseEntity<Object> get(RestTemplateTransport transport, String path) {
+        return transport.exchange(HttpMethod.GET, path, ServerTransport.defaultHeaders(1L), null, null).block();
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.exception.ErrorResponse;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RouteResilienceTest {
+    private CircuitBreakerRegistry circuitBreakers;
+    private AtomicInteger calls;
+    private HttpStatus status;
+    private Sinks.One<ResponseEntity<Object>> pending;
+    private ServerTransport transport;
+
+    @BeforeEach
+    void init() {
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(Duration.ofSeconds(10))
+                .build());
+        BulkheadRegistry bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(1)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        calls = new AtomicInteger();
+        status = HttpStatus.OK;
+        transport = new RouteResilience(circuitBreakers, bulkheads).decorate((method, path, headers, parameters, body) ->
+                Mono.defer(() -> {
+                    calls.incrementAndGet();
+                    return pending != null ? pending.asMono() : Mono.just(ResponseEntity.status(status).build());
+                }));
+    }
+
+    @Test
+    void routeOf() {
+        assertEquals("items", RouteResilience.routeOf("/items/1"));
+        assertEquals("items", RouteResilience.routeOf("/items?ids={ids}"));
+        assertEquals("bookings", RouteResilience.routeOf("/bookings/owner?state={state}"));
+        assertEquals("users", RouteResilience.routeOf("/users"));
+        assertEquals("", RouteResilience.routeOf(""));
+    }
+
+    @Test
+    void returnsServerErrorAsIs() {
+        status = HttpStatus.INTERNAL_SERVER_ERROR;
+
+        ResponseEntity<Object> response = get("/items/1");
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, response.getStatusCode());
+        assertEquals(1, circuitBreakers.circuitBreaker("items").getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void opensOnServerErrorsOfOneRoute() {
+        status = HttpStatus.INTERNAL_SERVER_ERROR;
+        for (int i = 0; i < 4; i++) {
+            get("/items/" + i);
+        }
+        status = HttpStatus.OK;
+
+        ResponseEntity<Object> rejected = get("/items/1");
+        ResponseEntity<Object> otherRoute = get("/users/1");
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker("items").getState());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals("10", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(((ErrorResponse) rejected.getBody()).getError().contains("items"));
+        assertEquals(HttpStatus.OK, otherRoute.getStatusCode());
+        assertEquals(5, calls.get());
+    }
+
+    @Test
+    void staysClosedOnClientErrors() {
+        status = HttpStatus.NOT_FOUND;
+        for (int i = 0; i < 4; i++) {
+            get("/items/" + i);
+        }
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker("items").getState());
+    }
+
+    @Test
+    void rejectsCallsOverBulkhead() {
+        pending = Sinks.one();
+        transport.exchange(HttpMethod.GET, "/bookings/owner", ServerTransport.defaultHeaders(1L), null, null).subscribe();
+
+        ResponseEntity<Object> rejected = get("/bookings/1");
+        pending.tryEmitValue(ResponseEntity.ok().build());
+        pending = null;
+        ResponseEntity<Object> afterRelease = get("/bookings/1");
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+        assertEquals("1", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals(HttpStatus.OK, afterRelease.getStatusCode());
+        assertEquals(2, calls.get());
+    }
+
+    private ResponseEntity<Object> get(String path) {
+        return transport.exchange(HttpMethod.GET, path, ServerTransport.defaultHeaders(1L), null, null).block();
+    }
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.client;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import reactor.core.publisher.Mono;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.client.SmileNegotiation.APPLICATION_SMILE;
+
+class SmileNegotiationTest {
+    private static final String JSON = "{\"id\":1,\"name\":\"Drill\",\"available\":true,\"start\":\"2022-09-01T10:00:00\","
+            + "\"comments\":[{\"id\":2,\"text\":\"Ok\"}],\"lastBooking\":null}";
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper smileMapper = new ObjectMapper(new SmileFactory());
+    private AtomicReference<HttpHeaders> sent;
+    private AtomicReference<ResponseEntity<Object>> response;
+    private ServerTransport transport;
+
+    @BeforeEach
+    void init() {
+        sent = new AtomicReference<>();
+        response = new AtomicReference<>();
+        transport = new SmileNegotiation().decorate((method, path, headers, parameters, body) -> {
+            sent.set(headers);
+            return Mono.just(response.get());
+        });
+    }
+
+    @Test
+    void asksForSmile() {
+        response.set(ResponseEntity.ok().build());
+
+        get();
+
+        assertEquals(APPLICATION_SMILE, sent.get().getContentType());
+        assertEquals(List.of(APPLICATION_SMILE), sent.get().getAccept());
+        assertEquals("1", sent.get().getFirst(ServerTransport.USER_HEADER));
+    }
+
+    @Test
+    void turnsSmileIntoSameJson() throws Exception {
+        byte[] smile = smileMapper.writeValueAsBytes(jsonMapper.readTree(JSON));
+        response.set(ResponseEntity.ok()
+                .contentType(APPLICATION_SMILE)
+                .contentLength(smile.length)
+                .eTag("\"0a1b2c\"")
+                .body(smile));
+
+        ResponseEntity<Object> json = get();
+
+        assertEquals(JSON, new String((byte[]) json.getBody()));
+        assertEquals(MediaType.APPLICATION_JSON, json.getHeaders().getContentType());
+        assertFalse(json.getHeaders().containsKey(HttpHeaders.CONTENT_LENGTH));
+        assertEquals("\"0a1b2c\"", json.getHeaders().getETag());
+    }
+
+    @Test
+    void keepsEmptySmileBody() {
+        response.set(ResponseEntity.ok().contentType(APPLICATION_SMILE).body(new byte[0]));
+
+        assertEquals(0, ((byte[]) get().getBody()).length);
+    }
+
+    @Test
+    void passesJsonThrough() {
+        ResponseEntity<Object> error = ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body("{\"error\":\"Bad\"}".getBytes());
+        response.set(error);
+
+        assertSame(error, get());
+    }
+
+    private ResponseEntity<Object> get() {
+        return transport.exchange(HttpMethod.GET, "/items/1", ServerTransport.defaultHeaders(1L), null, null).block();
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import java.time.Duration;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import com.sun.net.httpserver.HttpServer;
+import reactor.core.publisher.Mono;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+import static org.junit.jupiter.api.Assertions.*;
+
+class WebClientTransportTest {
+    private HttpServer server;
+    private ExecutorService executor;
+    private CountDownLatch release;
+    private WebClientTransport transport;
+
+    @BeforeEach
+    void init() throws Exception {
+        release = new CountDownLatch(1);
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/fast", exchange -> {
+            final byte[] body = "{\"id\":1}".getBytes();
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (transport != null) {
+            transport.destroy();
+        }
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void exchange() {
+        transport = transport(10, 10, Duration.ofSeconds(5), Duration.ofSeconds(5));
+
+        ResponseEntity<Object> response = transport.exchange(HttpMethod.GET, "/fast", ServerTransport.defaultHeaders(1L), null, null)
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("{\"id\":1}", new String((byte[]) response.getBody()));
+    }
+
+    @Test
+    void exchangeOverPendingLimit() {
+        transport = transport(1, 1, Duration.ofSeconds(5), Duration.ofSeconds(5));
+        transport.exchange(HttpMethod.GET, "/slow", ServerTransport.defaultHeaders(1L), null, null).subscribe(it -> { }, e -> { });
+        transport.exchange(HttpMethod.GET, "/slow", ServerTransport.defaultHeaders(1L), null, null).subscribe(it -> { }, e -> { });
+
+        Mono<ResponseEntity<Object>> third = transport.exchange(HttpMethod.GET, "/slow", ServerTransport.defaultHeaders(1L), null, null);
+
+        assertThrows(ServiceUnavailableException.class, () -> third.block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void exchangeOverAcquireTimeout() {
+        transport = transport(1, 10, Duration.ofSeconds(5), Duration.ofMillis(200));
+        transport.exchange(HttpMethod.GET, "/slow", ServerTransport.defaultHeaders(1L), null, null).subscribe(it -> { }, e -> { });
+
+        Mono<ResponseEntity<Object>> second = transport.exchange(HttpMethod.GET, "/slow", ServerTransport.defaultHeaders(1L), null, null);
+
+        assertThrows(ServiceUnavailableException.class, () -> second.block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void exchangeOverResponseTimeout() {
+        transport = transport(10, 10, Duration.ofMillis(200), Duration.ofSeconds(5));
+
+        Mono<ResponseEntity<Object>> slow = transport.exchange(HttpMethod.GET, "/slow", ServerTransport.defaultHeaders(1L), null, null);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> slow.block(Duration.ofSeconds(5)));
+        assertFalse(exception instanceof ServiceUnavailableException);
+    }
+
+    private WebClientTransport transport(int maxConnections, int maxPending, Duration readTimeout, Duration acquireTimeout) {
+        return new WebClientTransport("http://localhost:" + server.getAddress().getPort(), maxConnections, maxPending,
+                Duration.ofSeconds(2), readTimeout, acquireTimeout, true, WebClient.builder());
+    }
+}
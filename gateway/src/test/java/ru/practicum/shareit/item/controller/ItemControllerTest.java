@@ -0,0 +1,257 @@
+package ru.practicum.shareit.item.controller;
+
+import java.util.List;
+import java.util.Collections;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.mockito.Mockito;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemController.class)
+class ItemControllerTest {
+    private static final ResponseEntity<Object> OK = ResponseEntity.ok(Collections.emptyList());
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper mapper;
+    @MockBean
+    private ItemClient itemClient;
+
+    @Test
+    @DisplayName("Send GET request /items/search?text={text}&from={from}&size={size}")
+    void findAllByText() throws Exception {
+        Mockito.when(itemClient.findAllByText(1L, "drill", null, null, 20, 10)).thenReturn(OK);
+
+        perform(MockMvcRequestBuilders
+                .get("/items/search?text=drill&from=20&size=10")
+                .header("X-Sharer-User-Id", 1L));
+
+        Mockito.verify(itemClient, Mockito.times(1)).findAllByText(1L, "drill", null, null, 20, 10);
+    }
+
+    @Test
+    @DisplayName("Send GET request /items/search?text={text} with blank text")
+    void findAllByBlankText() throws Exception {
+        perform(MockMvcRequestBuilders
+                .get("/items/search?text= ")
+                .header("X-Sharer-User-Id", 1L))
+                .andExpect(MockMvcResultMatchers.content().json("[]"));
+
+        Mockito.verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    @DisplayName("Send GET request /items/search?text={text}&from={from}&size={size} with wrong page")
+    void findAllByTextWithWrongPage() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/items/search?text=drill&from=-1&size=0")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    @DisplayName("Send GET request /items/{id}/availability?from={from}&to={to}")
+    void findAvailability() throws Exception {
+        final LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        final LocalDateTime to = from.plusDays(7);
+        Mockito.when(itemClient.findAvailability(1L, 2L, from, to)).thenReturn(OK);
+
+        perform(MockMvcRequestBuilders
+                .get("/items/2/availability?from={from}&to={to}", from, to)
+                .header("X-Sharer-User-Id", 1L));
+
+        Mockito.verify(itemClient, Mockito.times(1)).findAvailability(1L, 2L, from, to);
+    }
+
+    @Test
+    @DisplayName("Send GET request /items/{id}/availability?from={from}&to={to} with from after to")
+    void findAvailabilityWithWrongWindow() throws Exception {
+        final LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/items/2/availability?from={from}&to={to}", from, from.minusDays(1))
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isInternalServerError());
+
+        Mockito.verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    @DisplayName("Send GET request /items/search?text={text}&start={start}&end={end}")
+    void findAllByTextAndFree() throws Exception {
+        final LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        final LocalDateTime end = start.plusDays(2);
+        Mockito.when(itemClient.findAllByText(1L, "drill", start, end, 0, 10)).thenReturn(OK);
+
+        perform(MockMvcRequestBuilders
+                .get("/items/search?text=drill&start={start}&end={end}", start, end)
+                .header("X-Sharer-User-Id", 1L));
+
+        Mockito.verify(itemClient, Mockito.times(1)).findAllByText(1L, "drill", start, end, 0, 10);
+    }
+
+    @Test
+    @DisplayName("Send GET request /items/search?text={text}&start={start} without end")
+    void findAllByTextAndFreeWithoutEnd() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/items/search?text=drill&start={start}", LocalDateTime.of(2030, 1, 1, 10, 0))
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isInternalServerError());
+
+        Mockito.verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    @DisplayName("Send GET request /items/search?text={text}&start={start}&end={end} with start after end")
+    void findAllByTextAndFreeWithWrongWindow() throws Exception {
+        final LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/items/search?text=drill&start={start}&end={end}", start, start)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isInternalServerError());
+
+        Mockito.verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    @DisplayName("Send GET request /items?ids={ids}")
+    void findAllByIds() throws Exception {
+        Mockito.when(itemClient.findAllByIds(1L, List.of(3L, 1L, 2L))).thenReturn(OK);
+
+        perform(MockMvcRequestBuilders
+                .get("/items?ids=3,1,2")
+                .header("X-Sharer-User-Id", 1L));
+
+        Mockito.verify(itemClient, Mockito.times(1)).findAllByIds(1L, List.of(3L, 1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Send GET request /items?ids={ids} with too many ids")
+    void findAllByTooManyIds() throws Exception {
+        final String ids = LongStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/items?ids=" + ids)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    @DisplayName("Send POST request /items/batch")
+    void saveAll() throws Exception {
+        final ItemDto dto = ItemDto.builder().name("Drill").description("Cordless drill").available(true).build();
+        Mockito.when(itemClient.saveAll(any(), anyLong())).thenReturn(OK);
+
+        perform(MockMvcRequestBuilders
+                .post("/items/batch")
+                .header("X-Sharer-User-Id", 1L)
+                .content(mapper.writeValueAsString(List.of(dto, dto)))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        Mockito.verify(itemClient, Mockito.times(1)).saveAll(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Send POST request /items/batch with an invalid row")
+    void saveAllWithInvalidRow() throws Exception {
+        final ItemDto dto = ItemDto.builder().name("Drill").description("Cordless drill").available(true).build();
+        final ItemDto invalid = ItemDto.builder().name(" ").description("Cordless drill").build();
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(List.of(dto, invalid)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    @DisplayName("Send POST request /items/batch with a row with id")
+    void saveAllWithId() throws Exception {
+        final ItemDto dto = ItemDto.builder().id(5L).name("Drill").description("Cordless drill").available(true).build();
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(List.of(dto)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    @DisplayName("Send POST request /items/batch with no rows")
+    void saveAllWithNoRows() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content("[]")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    @DisplayName("Send PATCH request /items/batch")
+    void updateAll() throws Exception {
+        final ItemDto dto = ItemDto.builder().id(1L).name("Saw").build();
+        Mockito.when(itemClient.updateAll(any(), anyLong())).thenReturn(OK);
+
+        perform(MockMvcRequestBuilders
+                .patch("/items/batch")
+                .header("X-Sharer-User-Id", 1L)
+                .content(mapper.writeValueAsString(List.of(dto)))
+                .contentType(MediaType.APPLICATION_JSON));
+
+        Mockito.verify(itemClient, Mockito.times(1)).updateAll(any(), anyLong());
+    }
+
+    @Test
+    @DisplayName("Send PATCH request /items/batch with a row without id")
+    void updateAllWithoutId() throws Exception {
+        final ItemDto dto = ItemDto.builder().name("Saw").build();
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .patch("/items/batch")
+                        .header("X-Sharer-User-Id", 1L)
+                        .content(mapper.writeValueAsString(List.of(dto)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(itemClient);
+    }
+
+    private ResultActions perform(MockHttpServletRequestBuilder request) throws Exception {
+        return this.mockMvc.perform(request)
+                .andExpect(MockMvcResultMatchers.request().asyncNotStarted())
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,101 @@
+package ru.practicum.shareit.limit;
+
+import java.util.Set;
+import java.util.List;
+import java.time.Duration;
+import javax.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ru.practicum.shareit.limit.RateLimitConfig.Group;
+import ru.practicum.shareit.limit.RateLimitConfig.RateLimitProperties;
+import ru.practicum.shareit.exception.TooManyRequestsException;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+    private RateLimitProperties properties;
+
+    @BeforeEach
+    void init() {
+        Group search = new Group();
+        search.setMethods(Set.of(HttpMethod.GET));
+        search.setPaths(List.of("/items/search"));
+        search.setCapacity(2);
+        search.setRefillPerSecond(0.5);
+        Group reads = new Group();
+        reads.setMethods(Set.of(HttpMethod.GET));
+        reads.setCapacity(100);
+        reads.setRefillPerSecond(50);
+        properties = new RateLimitProperties();
+        properties.getGroups().put("reads", reads);
+        properties.getGroups().put("search", search);
+    }
+
+    @Test
+    void rejectsOverCapacityWithRetryAfter() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        interceptor.bindTo(registry);
+
+        assertTrue(handle(interceptor, "GET", "/items/search", "1"));
+        assertTrue(handle(interceptor, "GET", "/items/search", "1"));
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> handle(interceptor, "GET", "/items/search", "1"));
+
+        assertEquals(2, exception.getRetryAfterSeconds());
+        assertEquals(1.0, registry.get("gateway.rate-limit.rejected").tag("group", "search").functionCounter().count());
+    }
+
+    @Test
+    void keepsBucketsPerUserAndGroup() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties);
+        handle(interceptor, "GET", "/items/search", "1");
+        handle(interceptor, "GET", "/items/search", "1");
+
+        assertTrue(handle(interceptor, "GET", "/items/search", "2"));
+        assertTrue(handle(interceptor, "GET", "/items/1", "1"));
+        assertTrue(handle(interceptor, "POST", "/items/search", "1"));
+    }
+
+    @Test
+    void takesOneTokenPerRequestWithAsyncDispatch() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties);
+        MockHttpServletRequest request = request("GET", "/items/search", "1");
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+        request.setDispatcherType(DispatcherType.ASYNC);
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        assertTrue(handle(interceptor, "GET", "/items/search", "1"));
+    }
+
+    @Test
+    void usesClientAddressWithoutUserHeader() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties);
+        handle(interceptor, "GET", "/items/search", null);
+        handle(interceptor, "GET", "/items/search", null);
+
+        assertThrows(TooManyRequestsException.class, () -> handle(interceptor, "GET", "/items/search", null));
+    }
+
+    @Test
+    void failsOnIdleTimeoutShorterThanRefill() {
+        properties.setIdleTimeout(Duration.ofSeconds(1));
+
+        assertThrows(IllegalArgumentException.class, () -> new RateLimitInterceptor(properties));
+    }
+
+    private static boolean handle(RateLimitInterceptor interceptor, String method, String path, String userId) {
+        return interceptor.preHandle(request(method, path, userId), new MockHttpServletResponse(), new Object());
+    }
+
+    private static MockHttpServletRequest request(String method, String path, String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        if (userId != null) {
+            request.addHeader("X-Sharer-User-Id", userId);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.limit;
+
+import java.util.List;
+import java.util.ArrayList;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void allowsBurstOfCapacity() {
+        TokenBucket bucket = new TokenBucket(3, 1, 0);
+
+        assertEquals(0, bucket.tryTake(0));
+        assertEquals(0, bucket.tryTake(0));
+        assertEquals(0, bucket.tryTake(0));
+        assertEquals(SECOND, bucket.tryTake(0));
+    }
+
+    @Test
+    void refillsAtRate() {
+        TokenBucket bucket = new TokenBucket(2, 4, 0);
+        bucket.tryTake(0);
+        bucket.tryTake(0);
+
+        assertEquals(SECOND / 4 - SECOND / 10, bucket.tryTake(SECOND / 10));
+        assertEquals(0, bucket.tryTake(SECOND / 4));
+        assertEquals(SECOND / 4, bucket.tryTake(SECOND / 4));
+    }
+
+    @Test
+    void doesNotGrowOverCapacityWhenIdle() {
+        TokenBucket bucket = new TokenBucket(2, 1, 0);
+
+        assertEquals(0, bucket.tryTake(100 * SECOND));
+        assertEquals(0, bucket.tryTake(100 * SECOND));
+        assertTrue(bucket.tryTake(100 * SECOND) > 0);
+    }
+
+    @Test
+    void givesEveryTokenOnceUnderContention() throws Exception {
+        TokenBucket bucket = new TokenBucket(1000, 1, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int taken = 0;
+                for (int j = 0; j < 500; j++) {
+                    if (bucket.tryTake(0) == 0) {
+                        taken++;
+                    }
+                }
+                return taken;
+            }));
+        }
+        start.countDown();
+        int taken = 0;
+        for (Future<Integer> result : results) {
+            taken += result.get();
+        }
+        executor.shutdown();
+
+        assertEquals(1000, taken);
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.request.controller;
+
+import java.util.List;
+import java.util.Collections;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.mockito.Mockito;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemRequestController.class)
+class ItemRequestControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private ItemRequestClient requestClient;
+
+    @Test
+    @DisplayName("Send GET request /requests?ids={ids}")
+    void findAllByIds() throws Exception {
+        Mockito.when(requestClient.findAllByIds(1L, List.of(2L, 1L)))
+                .thenReturn(ResponseEntity.ok(Collections.emptyList()));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/requests?ids=2,1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(MockMvcResultMatchers.request().asyncNotStarted())
+                .andExpect(status().isOk());
+
+        Mockito.verify(requestClient, Mockito.times(1)).findAllByIds(1L, List.of(2L, 1L));
+    }
+
+    @Test
+    @DisplayName("Send GET request /requests?ids={ids} with too many ids")
+    void findAllByTooManyIds() throws Exception {
+        final String ids = LongStream.rangeClosed(1, 101)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/requests?ids=" + ids)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(requestClient);
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.UUID;
+import java.util.HashMap;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.Setter;
+import javax.cache.Caching;
+import javax.cache.CacheManager;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+
+/**
+ * Hibernate second level cache regions, each bounded by the size and time to live from shareit.cache.regions.
+ * Every application context gets its own cache manager, so contexts never share cached rows.
+ */
+@Configuration
+@EnableConfigurationProperties(CacheConfig.CacheProperties.class)
+public class CacheConfig {
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(CacheProperties properties) {
+        final CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit:" + UUID.randomUUID()), getClass().getClassLoader());
+        properties.getRegions().forEach((name, region) -> cacheManager.createCache(name, toConfiguration(region)));
+        // Query results are checked against these timestamps, the region must never drop entries on its own
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> toConfiguration(Region region) {
+        final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(region.getSize()));
+        configuration.setExpiryPolicyFactory(CreatedExpiryPolicy.factoryOf(
+                new javax.cache.expiry.Duration(TimeUnit.SECONDS, region.getTtl().toSeconds())));
+        configuration.setStatisticsEnabled(true);
+        return configuration;
+    }
+
+    @Getter
+    @Setter
+    @ConfigurationProperties(prefix = "shareit.cache")
+    public static class CacheProperties {
+        private Map<String, Region> regions = new HashMap<>();
+    }
+
+    @Getter
+    @Setter
+    public static class Region {
+        private long size = 1000;
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
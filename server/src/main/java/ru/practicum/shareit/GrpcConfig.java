@@ -0,0 +1,42 @@
+package ru.practicum.shareit;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.BindableService;
+import io.grpc.ServerInterceptors;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import ru.practicum.shareit.exception.GrpcErrorInterceptor;
+
+/**
+ * Grpc endpoint next to the rest api, serves the same services for the gateway grpc transport.
+ * Calls run on a bounded pool of their own so blocking service calls never hold the transport threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.grpc.enabled", havingValue = "true")
+public class GrpcConfig implements DisposableBean {
+    private final ExecutorService executor;
+
+    public GrpcConfig(@Value("${shareit.grpc.threads:200}") int threads) {
+        this.executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "shutdown")
+    public Server grpcServer(@Value("${shareit.grpc.port}") int port, List<BindableService> services,
+                             GrpcErrorInterceptor errorInterceptor) {
+        final ServerBuilder<?> builder = ServerBuilder.forPort(port).executor(executor);
+        services.forEach(it -> builder.addService(ServerInterceptors.intercept(it, errorInterceptor)));
+        return builder.build();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "shareit.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
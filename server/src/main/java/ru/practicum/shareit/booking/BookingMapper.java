@@ -2,6 +2,10 @@ package ru.practicum.shareit.booking;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import java.util.Optional;
+import java.time.LocalDateTime;
+import ru.practicum.shareit.grpc.BookingMessage;
+import ru.practicum.shareit.grpc.BookingInfoMessage;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.user.model.User;
@@ -10,6 +14,7 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInfoDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class BookingMapper {
@@ -44,4 +49,35 @@ public class BookingMapper {
                 booker
         );
     }
+
+    public static BookingMessage toBookingMessage(BookingDto bookingDto) {
+        final BookingMessage.Builder message = BookingMessage.newBuilder();
+        Optional.ofNullable(bookingDto.getId()).ifPresent(message::setId);
+        Optional.ofNullable(bookingDto.getStart()).map(ISO_LOCAL_DATE_TIME::format).ifPresent(message::setStart);
+        Optional.ofNullable(bookingDto.getEnd()).map(ISO_LOCAL_DATE_TIME::format).ifPresent(message::setEnd);
+        Optional.ofNullable(bookingDto.getItemId()).ifPresent(message::setItemId);
+        Optional.ofNullable(bookingDto.getBookerId()).ifPresent(message::setBookerId);
+        return message.build();
+    }
+
+    public static BookingInfoMessage toBookingInfoMessage(BookingInfoDto bookingInfoDto) {
+        final BookingInfoMessage.Builder message = BookingInfoMessage.newBuilder();
+        Optional.ofNullable(bookingInfoDto.getId()).ifPresent(message::setId);
+        Optional.ofNullable(bookingInfoDto.getStart()).map(ISO_LOCAL_DATE_TIME::format).ifPresent(message::setStart);
+        Optional.ofNullable(bookingInfoDto.getEnd()).map(ISO_LOCAL_DATE_TIME::format).ifPresent(message::setEnd);
+        Optional.ofNullable(bookingInfoDto.getStatus()).map(Enum::name).ifPresent(message::setStatus);
+        Optional.ofNullable(bookingInfoDto.getItem()).map(ItemMapper::toItemMessage).ifPresent(message::setItem);
+        Optional.ofNullable(bookingInfoDto.getBooker()).map(UserMapper::toBookerMessage).ifPresent(message::setBooker);
+        return message.build();
+    }
+
+    public static BookingDto toBookingDto(BookingMessage message) {
+        return new BookingDto(
+                message.hasId() ? message.getId() : null,
+                message.hasStart() ? LocalDateTime.parse(message.getStart()) : null,
+                message.hasEnd() ? LocalDateTime.parse(message.getEnd()) : null,
+                message.hasItemId() ? message.getItemId() : null,
+                message.hasBookerId() ? message.getBookerId() : null
+        );
+    }
 }
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.booking.calendar;
+
+import java.util.Map;
+import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Collections;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import javax.persistence.EntityNotFoundException;
+
+/**
+ * Busy time of items, built lazily from the item bookings and kept for the most recently used items only.
+ * Changes are applied after the transaction commits.
+ */
+@Component
+public class BookingCalendar {
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final Map<Long, ItemCalendar> calendars;
+    private final AtomicLong modifications = new AtomicLong();
+
+    public BookingCalendar(ItemRepository itemRepository, BookingRepository bookingRepository,
+                           @Value("${shareit.calendar.cache-size:1000}") int cacheSize) {
+        this.itemRepository = itemRepository;
+        this.bookingRepository = bookingRepository;
+        this.calendars = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ItemCalendar> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Find approved bookings of the item intersecting [from, to).
+     * @param itemId Item id.
+     * @param from Window start.
+     * @param to Window end.
+     * @return List booking interval ordered by start.
+     */
+    public List<BookingInterval> findBusy(Long itemId, LocalDateTime from, LocalDateTime to) {
+        ItemCalendar calendar = calendars.get(itemId);
+        if (calendar == null) {
+            final long stamp = modifications.get();
+            calendar = load(itemId);
+            if (stamp == modifications.get()) {
+                calendars.put(itemId, calendar);
+            }
+        }
+        return calendar.findAll(from, to);
+    }
+
+    /**
+     * Track booking after save or status change, only approved bookings take time.
+     * @param booking Entity.
+     */
+    public void update(Booking booking) {
+        final Long itemId = booking.getItem().getId();
+        final BookingInterval interval = new BookingInterval(booking.getId(), booking.getStart(), booking.getEnd());
+        final boolean approved = booking.getStatus() == BookingStatus.APPROVED;
+        afterCommit(() -> {
+            modifications.incrementAndGet();
+            final ItemCalendar calendar = calendars.get(itemId);
+            if (calendar == null) {
+                return;
+            }
+            if (approved) {
+                calendar.put(interval);
+            } else {
+                calendar.remove(interval.getBookingId());
+            }
+        });
+    }
+
+    /**
+     * Forget booking after delete.
+     * @param itemId Item id.
+     * @param bookingId Booking id.
+     */
+    public void remove(Long itemId, Long bookingId) {
+        afterCommit(() -> {
+            modifications.incrementAndGet();
+            final ItemCalendar calendar = calendars.get(itemId);
+            if (calendar != null) {
+                calendar.remove(bookingId);
+            }
+        });
+    }
+
+    /**
+     * Forget item after delete, its bookings are deleted with it.
+     * @param itemId Item id.
+     */
+    public void evict(Long itemId) {
+        afterCommit(() -> {
+            modifications.incrementAndGet();
+            calendars.remove(itemId);
+        });
+    }
+
+    private ItemCalendar load(Long itemId) {
+        if (!itemRepository.existsById(itemId)) {
+            throw new EntityNotFoundException(String.format("Item with id=%d not found!", itemId));
+        }
+        final ItemCalendar calendar = new ItemCalendar();
+        bookingRepository.findAllByItemId(itemId).stream()
+                .filter(it -> it.getStatus() == BookingStatus.APPROVED)
+                .forEach(it -> calendar.put(new BookingInterval(it.getId(), it.getStart(), it.getEnd())));
+        return calendar;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.calendar;
+
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Time taken by one approved booking of an item, [start, end).
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@RequiredArgsConstructor
+public class BookingInterval {
+    private final Long bookingId;
+    private final LocalDateTime start;
+    private final LocalDateTime end;
+}
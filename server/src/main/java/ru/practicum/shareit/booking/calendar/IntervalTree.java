@@ -0,0 +1,160 @@
+package ru.practicum.shareit.booking.calendar;
+
+import java.util.List;
+import java.util.Comparator;
+import java.time.LocalDateTime;
+
+/**
+ * AVL tree of booking intervals ordered by start and booking id. Every node keeps the latest end in its subtree,
+ * so a lookup skips subtrees ending before the window and stops at the first start after it:
+ * O(log n) to find nothing, O(log n + k) for k matches that do not overlap each other, like approved bookings.
+ * Not thread safe.
+ */
+class IntervalTree {
+    private static final Comparator<BookingInterval> BY_START = Comparator.comparing(BookingInterval::getStart)
+            .thenComparing(BookingInterval::getBookingId);
+    private Node root;
+
+    void add(BookingInterval interval) {
+        root = insert(root, interval);
+    }
+
+    void remove(BookingInterval interval) {
+        root = delete(root, interval);
+    }
+
+    /**
+     * @param from Window start.
+     * @param to Window end.
+     * @param result Intervals intersecting [from, to) are added ordered by start.
+     */
+    void findAll(LocalDateTime from, LocalDateTime to, List<BookingInterval> result) {
+        collect(root, from, to, result);
+    }
+
+    int height() {
+        return height(root);
+    }
+
+    private static void collect(Node node, LocalDateTime from, LocalDateTime to, List<BookingInterval> result) {
+        if (node == null || !node.maxEnd.isAfter(from)) {
+            return;
+        }
+        collect(node.left, from, to, result);
+        if (!node.interval.getStart().isBefore(to)) {
+            return;
+        }
+        if (node.interval.getEnd().isAfter(from)) {
+            result.add(node.interval);
+        }
+        collect(node.right, from, to, result);
+    }
+
+    private static Node insert(Node node, BookingInterval interval) {
+        if (node == null) {
+            return new Node(interval);
+        }
+        final int compare = BY_START.compare(interval, node.interval);
+        if (compare < 0) {
+            node.left = insert(node.left, interval);
+        } else if (compare > 0) {
+            node.right = insert(node.right, interval);
+        } else {
+            node.interval = interval;
+        }
+        return balance(node);
+    }
+
+    private static Node delete(Node node, BookingInterval interval) {
+        if (node == null) {
+            return null;
+        }
+        final int compare = BY_START.compare(interval, node.interval);
+        if (compare < 0) {
+            node.left = delete(node.left, interval);
+        } else if (compare > 0) {
+            node.right = delete(node.right, interval);
+        } else if (node.left == null) {
+            return node.right;
+        } else if (node.right == null) {
+            return node.left;
+        } else {
+            Node next = node.right;
+            while (next.left != null) {
+                next = next.left;
+            }
+            node.interval = next.interval;
+            node.right = delete(node.right, next.interval);
+        }
+        return balance(node);
+    }
+
+    private static Node balance(Node node) {
+        update(node);
+        final int skew = height(node.left) - height(node.right);
+        if (skew > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (skew < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private static Node rotateRight(Node node) {
+        final Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        final Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        node.maxEnd = latest(node.interval.getEnd(), latest(maxEnd(node.left), maxEnd(node.right)));
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static LocalDateTime maxEnd(Node node) {
+        return node == null ? null : node.maxEnd;
+    }
+
+    private static LocalDateTime latest(LocalDateTime first, LocalDateTime second) {
+        if (first == null) {
+            return second;
+        }
+        return second == null || first.isAfter(second) ? first : second;
+    }
+
+    private static class Node {
+        private BookingInterval interval;
+        private LocalDateTime maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        Node(BookingInterval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.getEnd();
+        }
+    }
+}
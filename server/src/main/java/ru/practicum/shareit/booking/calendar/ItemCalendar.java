@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking.calendar;
+
+import java.util.Map;
+import java.util.List;
+import java.util.HashMap;
+import java.util.ArrayList;
+import java.time.LocalDateTime;
+
+/**
+ * Approved bookings of one item in an interval tree, plus their intervals by booking id for removal.
+ */
+class ItemCalendar {
+    private final IntervalTree intervals = new IntervalTree();
+    private final Map<Long, BookingInterval> bookings = new HashMap<>();
+
+    synchronized void put(BookingInterval interval) {
+        remove(interval.getBookingId());
+        intervals.add(interval);
+        bookings.put(interval.getBookingId(), interval);
+    }
+
+    synchronized void remove(Long bookingId) {
+        final BookingInterval interval = bookings.remove(bookingId);
+        if (interval != null) {
+            intervals.remove(interval);
+        }
+    }
+
+    synchronized int height() {
+        return intervals.height();
+    }
+
+    synchronized List<BookingInterval> findAll(LocalDateTime from, LocalDateTime to) {
+        final List<BookingInterval> result = new ArrayList<>();
+        intervals.findAll(from, to, result);
+        return result;
+    }
+}
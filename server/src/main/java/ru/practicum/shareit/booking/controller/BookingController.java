@@ -3,10 +3,12 @@ package ru.practicum.shareit.booking.controller;
 import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.service.BookingService;
 
 @Slf4j
@@ -24,21 +26,29 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingInfoDto> findAllByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                  @RequestParam(defaultValue = "0") Integer from,
-                                                  @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Send get request /bookings?state={}&from={}&size={}", state, from, size);
-        return bookingService.findAllByBookerId(userId, state, from, size);
+    public ResponseEntity<List<BookingInfoDto>> findAllByBookerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                  @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                  @RequestParam(defaultValue = "0") Integer from,
+                                                                  @RequestParam(defaultValue = "10") Integer size,
+                                                                  @RequestParam(required = false) String cursor) {
+        log.info("Send get request /bookings?state={}&from={}&size={}&cursor={}", state, from, size, cursor);
+        final List<BookingInfoDto> bookings = cursor == null ?
+                bookingService.findAllByBookerId(userId, state, from, size) :
+                bookingService.findAllByBookerId(userId, state, BookingCursor.decode(cursor), size);
+        return toPage(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingInfoDto> findAllByItemOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                     @RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                     @RequestParam(defaultValue = "0") Integer from,
-                                                     @RequestParam(defaultValue = "10") Integer size) {
-        log.info("Send get request /bookings/owner?state={}&from={}&size={}", state, from, size);
-        return bookingService.findAllByItemOwnerId(userId, state, from, size);
+    public ResponseEntity<List<BookingInfoDto>> findAllByItemOwnerId(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                     @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                     @RequestParam(defaultValue = "0") Integer from,
+                                                                     @RequestParam(defaultValue = "10") Integer size,
+                                                                     @RequestParam(required = false) String cursor) {
+        log.info("Send get request /bookings/owner?state={}&from={}&size={}&cursor={}", state, from, size, cursor);
+        final List<BookingInfoDto> bookings = cursor == null ?
+                bookingService.findAllByItemOwnerId(userId, state, from, size) :
+                bookingService.findAllByItemOwnerId(userId, state, BookingCursor.decode(cursor), size);
+        return toPage(bookings, size);
     }
 
     @PostMapping
@@ -59,4 +69,22 @@ public class BookingController {
         log.info("Send delete request /bookings/{}", id);
         bookingService.deleteById(userId, id);
     }
+
+    static String nextCursor(List<BookingInfoDto> bookings, Integer size) {
+        if (bookings.isEmpty() || bookings.size() < size) {
+            return null;
+        }
+        final BookingInfoDto last = bookings.get(bookings.size() - 1);
+        return new BookingCursor(last.getStart(), last.getId()).encode();
+    }
+
+    private static ResponseEntity<List<BookingInfoDto>> toPage(List<BookingInfoDto> bookings, Integer size) {
+        final String cursor = nextCursor(bookings, size);
+        if (cursor == null) {
+            return ResponseEntity.ok(bookings);
+        }
+        return ResponseEntity.ok()
+                .header(BookingCursor.HEADER, cursor)
+                .body(bookings);
+    }
 }
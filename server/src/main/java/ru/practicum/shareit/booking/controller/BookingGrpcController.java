@@ -0,0 +1,89 @@
+package ru.practicum.shareit.booking.controller;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+import io.grpc.stub.StreamObserver;
+import com.google.protobuf.Empty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.grpc.IdRequest;
+import ru.practicum.shareit.grpc.BookingPage;
+import ru.practicum.shareit.grpc.BookingsRequest;
+import ru.practicum.shareit.grpc.BookingInfoMessage;
+import ru.practicum.shareit.grpc.SaveBookingRequest;
+import ru.practicum.shareit.grpc.ApproveBookingRequest;
+import ru.practicum.shareit.grpc.BookingServiceGrpc;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.service.BookingService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BookingGrpcController extends BookingServiceGrpc.BookingServiceImplBase {
+    private final BookingService bookingService;
+
+    @Override
+    public void findById(IdRequest request, StreamObserver<BookingInfoMessage> responseObserver) {
+        log.info("Send grpc request BookingService/FindById id={}", request.getId());
+        responseObserver.onNext(BookingMapper.toBookingInfoMessage(bookingService.findById(request.getUserId(), request.getId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findAllByBookerId(BookingsRequest request, StreamObserver<BookingPage> responseObserver) {
+        log.info("Send grpc request BookingService/FindAllByBookerId state={}&from={}&size={}&cursor={}",
+                request.getState(), request.getFrom(), request.getSize(), request.getCursor());
+        final List<BookingInfoDto> bookings = request.hasCursor() ?
+                bookingService.findAllByBookerId(request.getUserId(), request.getState(), BookingCursor.decode(request.getCursor()), request.getSize()) :
+                bookingService.findAllByBookerId(request.getUserId(), request.getState(), request.getFrom(), request.getSize());
+        responseObserver.onNext(toPage(bookings, request.getSize()));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findAllByItemOwnerId(BookingsRequest request, StreamObserver<BookingPage> responseObserver) {
+        log.info("Send grpc request BookingService/FindAllByItemOwnerId state={}&from={}&size={}&cursor={}",
+                request.getState(), request.getFrom(), request.getSize(), request.getCursor());
+        final List<BookingInfoDto> bookings = request.hasCursor() ?
+                bookingService.findAllByItemOwnerId(request.getUserId(), request.getState(), BookingCursor.decode(request.getCursor()), request.getSize()) :
+                bookingService.findAllByItemOwnerId(request.getUserId(), request.getState(), request.getFrom(), request.getSize());
+        responseObserver.onNext(toPage(bookings, request.getSize()));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void save(SaveBookingRequest request, StreamObserver<BookingInfoMessage> responseObserver) {
+        log.info("Send grpc request BookingService/Save");
+        responseObserver.onNext(BookingMapper.toBookingInfoMessage(bookingService.save(BookingMapper.toBookingDto(request.getBooking()),
+                request.getUserId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void update(ApproveBookingRequest request, StreamObserver<BookingInfoMessage> responseObserver) {
+        log.info("Send grpc request BookingService/Update id={}&approved={}", request.getId(), request.getApproved());
+        responseObserver.onNext(BookingMapper.toBookingInfoMessage(bookingService.update(request.getUserId(), request.getId(),
+                request.getApproved())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void deleteById(IdRequest request, StreamObserver<Empty> responseObserver) {
+        log.info("Send grpc request BookingService/DeleteById id={}", request.getId());
+        bookingService.deleteById(request.getUserId(), request.getId());
+        responseObserver.onNext(Empty.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
+    private static BookingPage toPage(List<BookingInfoDto> bookings, Integer size) {
+        final BookingPage.Builder page = BookingPage.newBuilder();
+        bookings.forEach(it -> page.addBookings(BookingMapper.toBookingInfoMessage(it)));
+        final String cursor = BookingController.nextCursor(bookings, size);
+        if (cursor != null) {
+            page.setNextCursor(cursor);
+        }
+        return page.build();
+    }
+}
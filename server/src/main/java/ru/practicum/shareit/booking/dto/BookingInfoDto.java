@@ -18,4 +18,9 @@ public class BookingInfoDto {
     private BookingStatus status;
     private ItemDto item;
     private BookerDto booker;
+
+    public BookingInfoDto(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status,
+                          Long itemId, String itemName, Long bookerId) {
+        this(id, start, end, status, ItemDto.builder().id(itemId).name(itemName).build(), new BookerDto(bookerId));
+    }
 }
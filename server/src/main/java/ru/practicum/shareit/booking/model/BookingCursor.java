@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.*;
+import java.util.Base64;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Keyset position in a booking list sorted by start desc, id desc.
+ * Clients receive it as an opaque token and send it back to fetch the next page.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+@RequiredArgsConstructor
+public class BookingCursor {
+    public static final String HEADER = "X-Next-Cursor";
+    public static final BookingCursor FIRST = new BookingCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    private static final String SEPARATOR = ",";
+    private final LocalDateTime start;
+    private final Long id;
+
+    public String encode() {
+        final String value = start + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(UTF_8));
+    }
+
+    public static BookingCursor decode(String cursor) {
+        final String[] value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), UTF_8).split(SEPARATOR);
+            if (value.length == 2) {
+                return new BookingCursor(LocalDateTime.parse(value[0]), Long.parseLong(value[1]));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+    }
+}
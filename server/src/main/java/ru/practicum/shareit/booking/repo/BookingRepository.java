@@ -1,38 +1,90 @@
 package ru.practicum.shareit.booking.repo;
 
+import java.util.Set;
 import java.util.List;
+import java.util.Collection;
+import java.util.Optional;
 import java.time.LocalDateTime;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingInfoDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
+    /**
+     * Keyset condition, rows strictly after cursor (?2 start, ?3 id) in start desc, id desc order.
+     */
+    String AFTER_CURSOR = "(b.start < ?2 or (b.start = ?2 and b.id < ?3))";
+
+    /**
+     * Read-only list rows, built straight from the selected columns without loading entities.
+     */
+    String INFO_DTO = "select new ru.practicum.shareit.booking.dto.BookingInfoDto(b.id, b.start, b.end, b.status, i.id, i.name, b.booker.id) " +
+            "from Booking b join b.item i";
+
+    /**
+     * Loads item and booker in the same select, BookingMapper.toBookingInfoDto reads both.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long id);
+
     List<Booking> findAllByItemOwnerId(Long userId);
 
-    List<Booking> findAllByItemOwnerId(Long userId, Pageable pageable);
+    @Query(INFO_DTO + " where i.owner.id = ?1 and " + AFTER_CURSOR)
+    List<BookingInfoDto> findPageByItemOwnerId(Long userId, LocalDateTime start, Long id, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfter(Long userId, LocalDateTime before, LocalDateTime after, Pageable pageable);
+    @Query(INFO_DTO + " where i.owner.id = ?1 and " + AFTER_CURSOR +
+            " and b.start < ?4 and b.end > ?4")
+    List<BookingInfoDto> findPageByItemOwnerIdAndCurrent(Long userId, LocalDateTime start, Long id, LocalDateTime date, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerIdAndEndIsBefore(Long userId, LocalDateTime date, Pageable pageable);
+    @Query(INFO_DTO + " where i.owner.id = ?1 and " + AFTER_CURSOR + " and b.end < ?4")
+    List<BookingInfoDto> findPageByItemOwnerIdAndPast(Long userId, LocalDateTime start, Long id, LocalDateTime date, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerIdAndStartIsAfter(Long userId, LocalDateTime date, Pageable pageable);
+    @Query(INFO_DTO + " where i.owner.id = ?1 and " + AFTER_CURSOR + " and b.start > ?4")
+    List<BookingInfoDto> findPageByItemOwnerIdAndFuture(Long userId, LocalDateTime start, Long id, LocalDateTime date, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerIdAndStatusEquals(Long userId, BookingStatus status, Pageable pageable);
+    @Query(INFO_DTO + " where i.owner.id = ?1 and " + AFTER_CURSOR + " and b.status = ?4")
+    List<BookingInfoDto> findPageByItemOwnerIdAndStatus(Long userId, LocalDateTime start, Long id, BookingStatus status, Pageable pageable);
 
-    List<Booking> findAllByBookerId(Long userId, Pageable pageable);
+    @Query(INFO_DTO + " where b.booker.id = ?1 and " + AFTER_CURSOR)
+    List<BookingInfoDto> findPageByBookerId(Long userId, LocalDateTime start, Long id, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStartIsBeforeAndEndIsAfter(Long userId, LocalDateTime isBefore, LocalDateTime isAfter, Pageable pageable);
+    @Query(INFO_DTO + " where b.booker.id = ?1 and " + AFTER_CURSOR +
+            " and b.start < ?4 and b.end > ?4")
+    List<BookingInfoDto> findPageByBookerIdAndCurrent(Long userId, LocalDateTime start, Long id, LocalDateTime date, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndEndIsBefore(Long userId, LocalDateTime date, Pageable pageable);
+    @Query(INFO_DTO + " where b.booker.id = ?1 and " + AFTER_CURSOR + " and b.end < ?4")
+    List<BookingInfoDto> findPageByBookerIdAndPast(Long userId, LocalDateTime start, Long id, LocalDateTime date, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStartIsAfter(Long userId, LocalDateTime date, Pageable pageable);
+    @Query(INFO_DTO + " where b.booker.id = ?1 and " + AFTER_CURSOR + " and b.start > ?4")
+    List<BookingInfoDto> findPageByBookerIdAndFuture(Long userId, LocalDateTime start, Long id, LocalDateTime date, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStatusEquals(Long userId, BookingStatus status, Pageable pageable);
+    @Query(INFO_DTO + " where b.booker.id = ?1 and " + AFTER_CURSOR + " and b.status = ?4")
+    List<BookingInfoDto> findPageByBookerIdAndStatus(Long userId, LocalDateTime start, Long id, BookingStatus status, Pageable pageable);
 
     List<Booking> findAllByItemId(Long itemId);
 
+    /**
+     * Approved booking of the item intersecting [start, end), the booking itself is skipped.
+     */
+    @Query("select case when count(b) > 0 then true else false end from Booking b where b.item.id = ?1 " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b.start < ?3 and b.end > ?2 and b.id <> ?4")
+    boolean existsApprovedOverlap(Long itemId, LocalDateTime start, LocalDateTime end, Long id);
+
+    @Query("select distinct b.item.id from Booking b where b.item.id in ?1 " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED and b.start < ?3 and b.end > ?2")
+    Set<Long> findItemIdsWithApprovedOverlap(Collection<Long> itemIds, LocalDateTime start, LocalDateTime end);
+
+    Optional<Booking> findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDesc(Long itemId, BookingStatus status, LocalDateTime date);
+
+    Optional<Booking> findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(Long itemId, BookingStatus status, LocalDateTime date);
+
     List<Booking> findByItemInAndStatusEquals(List<Item> items, BookingStatus status, Sort sort);
 }
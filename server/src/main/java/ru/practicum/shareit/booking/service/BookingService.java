@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.service;
 import java.util.List;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
 
 public interface BookingService {
     /**
@@ -21,6 +22,16 @@ public interface BookingService {
      */
     List<BookingInfoDto> findAllByBookerId(Long userId, String state, Integer from, Integer size);
 
+    /**
+     * Find page of booking by booker after cursor, sort desc start datetime.
+     * @param userId User id.
+     * @param state Booking state.
+     * @param cursor Last booking of the previous page.
+     * @param size Page size.
+     * @return List booking info dto.
+     */
+    List<BookingInfoDto> findAllByBookerId(Long userId, String state, BookingCursor cursor, Integer size);
+
     /**
      * Find all booking by owner, sort desc start datetime.
      * @param userId User id.
@@ -29,6 +40,16 @@ public interface BookingService {
      */
     List<BookingInfoDto> findAllByItemOwnerId(Long userId, String state, Integer from, Integer size);
 
+    /**
+     * Find page of booking by owner after cursor, sort desc start datetime.
+     * @param userId User id.
+     * @param state Booking state.
+     * @param cursor Last booking of the previous page.
+     * @param size Page size.
+     * @return List booking info dto.
+     */
+    List<BookingInfoDto> findAllByItemOwnerId(Long userId, String state, BookingCursor cursor, Integer size);
+
     /**
      * Create booking.
      * @param bookingDto Entity.
@@ -4,6 +4,8 @@ import java.util.List;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,33 +14,38 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingTracker;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserLookup;
 import javax.persistence.EntityNotFoundException;
 import ru.practicum.shareit.exception.UserConflictException;
 import ru.practicum.shareit.exception.BookingStatusException;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.exception.BookingStateExistsException;
-import static java.util.stream.Collectors.toList;
 import static org.springframework.data.domain.Sort.Direction.DESC;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final ItemBookingTracker itemBookingTracker;
+    private final BookingCalendar bookingCalendar;
+    private static final Sort SORT = Sort.by(DESC, "start", "id");
 
     @Override
     public BookingInfoDto findById(Long userId, Long id) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final Booking bookingWrap = bookingRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Booking with id=%d not found!", id))
         );
@@ -53,36 +60,52 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingInfoDto> findAllByBookerId(Long userId, String state, Integer from, Integer size) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
+        final BookingState bookingState = BookingState.from(state);
+        if (bookingState == null) {
+            throw new BookingStateExistsException("Unknown state: UNSUPPORTED_STATUS");
+        }
+        final MyPageRequest pageRequest = new MyPageRequest(from, size, SORT);
+        return findAllByStateBooker(userWrap.getId(), bookingState, BookingCursor.FIRST, pageRequest);
+    }
+
+    @Override
+    public List<BookingInfoDto> findAllByBookerId(Long userId, String state, BookingCursor cursor, Integer size) {
+        final User userWrap = userLookup.get(userId);
         final BookingState bookingState = BookingState.from(state);
         if (bookingState == null) {
             throw new BookingStateExistsException("Unknown state: UNSUPPORTED_STATUS");
         }
-        final MyPageRequest pageRequest = new MyPageRequest(from, size, Sort.by(DESC, "start"));
-        return findAllByStateBooker(userWrap.getId(), bookingState, pageRequest);
+        final PageRequest pageRequest = PageRequest.of(0, size, SORT);
+        return findAllByStateBooker(userWrap.getId(), bookingState, cursor, pageRequest);
     }
 
     @Override
     public List<BookingInfoDto> findAllByItemOwnerId(Long userId, String state, Integer from, Integer size) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final BookingState bookingState = BookingState.from(state);
         if (bookingState == null) {
             throw new BookingStateExistsException("Unknown state: UNSUPPORTED_STATUS");
         }
-        final MyPageRequest pageRequest = new MyPageRequest(from, size, Sort.by(DESC, "start"));
-        return findAllByStateOwner(userWrap.getId(), bookingState, pageRequest);
+        final MyPageRequest pageRequest = new MyPageRequest(from, size, SORT);
+        return findAllByStateOwner(userWrap.getId(), bookingState, BookingCursor.FIRST, pageRequest);
+    }
+
+    @Override
+    public List<BookingInfoDto> findAllByItemOwnerId(Long userId, String state, BookingCursor cursor, Integer size) {
+        final User userWrap = userLookup.get(userId);
+        final BookingState bookingState = BookingState.from(state);
+        if (bookingState == null) {
+            throw new BookingStateExistsException("Unknown state: UNSUPPORTED_STATUS");
+        }
+        final PageRequest pageRequest = PageRequest.of(0, size, SORT);
+        return findAllByStateOwner(userWrap.getId(), bookingState, cursor, pageRequest);
     }
 
     @Override
     @Transactional
     public BookingInfoDto save(BookingDto bookingDto, Long userId) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final Item itemWrap = itemRepository.findById(bookingDto.getItemId()).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Item with id=%d not found!", bookingDto.getItemId()))
         );
@@ -92,124 +115,119 @@ public class BookingServiceImpl implements BookingService {
         if (!itemWrap.getAvailable()) {
             throw new BookingStatusException(String.format("Item available=%b, booking rejected!", itemWrap.getAvailable()));
         }
+        if (bookingRepository.existsApprovedOverlap(itemWrap.getId(), bookingDto.getStart(), bookingDto.getEnd(), 0L)) {
+            throw new BookingOverlapException(String.format("Item with id=%d is already booked for these dates!", itemWrap.getId()));
+        }
         final Booking booking = BookingMapper.toBooking(bookingDto, BookingStatus.WAITING, itemWrap, userWrap);
         final Booking bookingWrap = bookingRepository.save(booking);
+        bookingCalendar.update(bookingWrap);
         return BookingMapper.toBookingInfoDto(bookingWrap);
     }
 
     @Override
     @Transactional
     public BookingInfoDto update(Long userId, Long id, Boolean approved) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final Booking bookingWrap = bookingRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Booking with id=%d not found!", id))
         );
-        final Item itemWrap = itemRepository.findById(bookingWrap.getItem().getId()).orElseThrow(
+        final Item itemWrap = itemRepository.findByIdForUpdate(bookingWrap.getItem().getId()).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Item with id=%d not found!", bookingWrap.getItem().getId()))
         );
         if (!itemWrap.getOwner().getId().equals(userWrap.getId())) {
             throw new UserConflictException(String.format("User userId=%d is not the owner of the item!", userId));
         }
         if (approved && bookingWrap.getStatus() == BookingStatus.WAITING) {
+            if (bookingRepository.existsApprovedOverlap(itemWrap.getId(), bookingWrap.getStart(), bookingWrap.getEnd(), bookingWrap.getId())) {
+                throw new BookingOverlapException(String.format("Item with id=%d is already booked for these dates!", itemWrap.getId()));
+            }
             bookingWrap.setStatus(BookingStatus.APPROVED);
+            try {
+                bookingRepository.flush();
+            } catch (DataIntegrityViolationException e) {
+                throw new BookingOverlapException(String.format("Item with id=%d is already booked for these dates!", itemWrap.getId()), e);
+            }
         } else if (bookingWrap.getStatus() == BookingStatus.WAITING) {
             bookingWrap.setStatus(BookingStatus.REJECTED);
         } else {
             throw new BookingStatusException(String.format("Booking status=%s!", bookingWrap.getStatus()));
         }
+        itemBookingTracker.refresh(itemWrap);
+        bookingCalendar.update(bookingWrap);
         return BookingMapper.toBookingInfoDto(bookingWrap);
     }
 
     @Override
     @Transactional
     public void deleteById(Long userId, Long id) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final Booking bookingWrap = bookingRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Booking with id=%d not found!", id))
         );
         final User booker = bookingWrap.getBooker();
         final User owner = bookingWrap.getItem().getOwner();
         if (booker.getId().equals(userWrap.getId()) || owner.getId().equals(userWrap.getId())) {
+            final Item itemWrap = itemRepository.findByIdForUpdate(bookingWrap.getItem().getId()).orElseThrow(
+                    () -> new EntityNotFoundException(String.format("Item with id=%d not found!", bookingWrap.getItem().getId()))
+            );
             bookingRepository.deleteById(bookingWrap.getId());
+            itemBookingTracker.refresh(itemWrap);
+            bookingCalendar.remove(bookingWrap.getItem().getId(), bookingWrap.getId());
         } else {
             throw new EntityNotFoundException(String.format("User with id=%d does not have the right to request deletion!", userId));
         }
     }
 
-    private List<BookingInfoDto> findAllByStateOwner(Long userId, BookingState state, MyPageRequest pageRequest) {
+    private List<BookingInfoDto> findAllByStateOwner(Long userId, BookingState state, BookingCursor cursor, Pageable pageable) {
         final LocalDateTime currentTime = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        final LocalDateTime start = cursor.getStart();
+        final Long id = cursor.getId();
 
         switch (state) {
             case CURRENT: {
-                return bookingRepository.findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfter(userId, currentTime, currentTime, pageRequest).stream()
-                        .map(BookingMapper::toBookingInfoDto)
-                        .collect(toList());
+                return bookingRepository.findPageByItemOwnerIdAndCurrent(userId, start, id, currentTime, pageable);
             }
             case PAST: {
-                return bookingRepository.findAllByItemOwnerIdAndEndIsBefore(userId, currentTime, pageRequest).stream()
-                        .map(BookingMapper::toBookingInfoDto)
-                        .collect(toList());
+                return bookingRepository.findPageByItemOwnerIdAndPast(userId, start, id, currentTime, pageable);
             }
             case FUTURE: {
-                return bookingRepository.findAllByItemOwnerIdAndStartIsAfter(userId, currentTime, pageRequest).stream()
-                        .map(BookingMapper::toBookingInfoDto)
-                        .collect(toList());
+                return bookingRepository.findPageByItemOwnerIdAndFuture(userId, start, id, currentTime, pageable);
             }
             case WAITING: {
-                return bookingRepository.findAllByItemOwnerIdAndStatusEquals(userId, BookingStatus.WAITING, pageRequest).stream()
-                        .map(BookingMapper::toBookingInfoDto)
-                        .collect(toList());
+                return bookingRepository.findPageByItemOwnerIdAndStatus(userId, start, id, BookingStatus.WAITING, pageable);
             }
             case REJECTED: {
-                return bookingRepository.findAllByItemOwnerIdAndStatusEquals(userId, BookingStatus.REJECTED, pageRequest).stream()
-                        .map(BookingMapper::toBookingInfoDto)
-                        .collect(toList());
+                return bookingRepository.findPageByItemOwnerIdAndStatus(userId, start, id, BookingStatus.REJECTED, pageable);
             }
             default: {
-                return bookingRepository.findAllByItemOwnerId(userId, pageRequest).stream()
-                        .map(BookingMapper::toBookingInfoDto)
-                        .collect(toList());
+                return bookingRepository.findPageByItemOwnerId(userId, start, id, pageable);
             }
         }
     }
 
-    private List<BookingInfoDto> findAllByStateBooker(Long userId, BookingState state, MyPageRequest pageRequest) {
+    private List<BookingInfoDto> findAllByStateBooker(Long userId, BookingState state, BookingCursor cursor, Pageable pageable) {
         final LocalDateTime currentTime = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        final LocalDateTime start = cursor.getStart();
+        final Long id = cursor.getId();
 
         switch (state) {
             case CURRENT: {
-                return bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfter(userId, currentTime, currentTime, pageRequest).stream()
-                        .map(BookingMapper::toBookingInfoDto)
-                        .collect(toList());
+                return bookingRepository.findPageByBookerIdAndCurrent(userId, start, id, currentTime, pageable);
             }
             case PAST: {
-                return bookingRepository.findAllByBookerIdAndEndIsBefore(userId, currentTime, pageRequest).stream()
-                        .map(BookingMapper::toBookingInfoDto)
-                        .collect(toList());
+                return bookingRepository.findPageByBookerIdAndPast(userId, start, id, currentTime, pageable);
             }
             case FUTURE: {
-                return bookingRepository.findAllByBookerIdAndStartIsAfter(userId, currentTime, pageRequest).stream()
-                        .map(BookingMapper::toBookingInfoDto)
-                        .collect(toList());
+                return bookingRepository.findPageByBookerIdAndFuture(userId, start, id, currentTime, pageable);
             }
             case WAITING: {
-                return bookingRepository.findAllByBookerIdAndStatusEquals(userId, BookingStatus.WAITING, pageRequest).stream()
-                        .map(BookingMapper::toBookingInfoDto)
-                        .collect(toList());
+                return bookingRepository.findPageByBookerIdAndStatus(userId, start, id, BookingStatus.WAITING, pageable);
             }
             case REJECTED: {
-                return bookingRepository.findAllByBookerIdAndStatusEquals(userId, BookingStatus.REJECTED, pageRequest).stream()
-                        .map(BookingMapper::toBookingInfoDto)
-                        .collect(toList());
+                return bookingRepository.findPageByBookerIdAndStatus(userId, start, id, BookingStatus.REJECTED, pageable);
             }
             default: {
-                return bookingRepository.findAllByBookerId(userId, pageRequest).stream()
-                        .map(BookingMapper::toBookingInfoDto)
-                        .collect(toList());
+                return bookingRepository.findPageByBookerId(userId, start, id, pageable);
             }
         }
     }
@@ -66,6 +66,15 @@ public class ErrorHandler {
                 .body(errorResponse);
     }
 
+    @ExceptionHandler(BookingOverlapException.class)
+    public ResponseEntity<ErrorResponse> handleBookingOverlapException(final BookingOverlapException e) {
+        log.error(e.getMessage(), e);
+        final ErrorResponse errorResponse = new ErrorResponse(e.getMessage(), HttpStatus.CONFLICT.value());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(CommentForbiddenException.class)
     public ResponseEntity<ErrorResponse> handleCommentForbiddenException(final CommentForbiddenException e) {
         log.error(e.getMessage(), e);
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.exception;
+
+import io.grpc.Status;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.ForwardingServerCallListener.SimpleForwardingServerCallListener;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import javax.persistence.EntityExistsException;
+import javax.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Grpc counterpart of {@link ErrorHandler}, service exceptions close the call with the status matching the rest api code.
+ */
+@Slf4j
+@Component
+public class GrpcErrorInterceptor implements ServerInterceptor {
+    @Override
+    public <ReqT, RespT> ServerCall.Listener<ReqT> interceptCall(ServerCall<ReqT, RespT> call, Metadata headers,
+                                                                 ServerCallHandler<ReqT, RespT> next) {
+        return new SimpleForwardingServerCallListener<>(next.startCall(call, headers)) {
+            @Override
+            public void onHalfClose() {
+                try {
+                    super.onHalfClose();
+                } catch (RuntimeException e) {
+                    log.error(e.getMessage(), e);
+                    call.close(toStatus(e).withDescription(e.getMessage()), new Metadata());
+                }
+            }
+        };
+    }
+
+    static Status toStatus(RuntimeException e) {
+        if (e instanceof EntityNotFoundException || e instanceof UserConflictException) {
+            return Status.NOT_FOUND;
+        }
+        if (e instanceof EntityExistsException || e instanceof DataIntegrityViolationException || e instanceof BookingOverlapException) {
+            return Status.ALREADY_EXISTS;
+        }
+        return Status.INVALID_ARGUMENT;
+    }
+}
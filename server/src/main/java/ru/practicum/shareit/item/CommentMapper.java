@@ -2,12 +2,16 @@ package ru.practicum.shareit.item;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import java.util.Optional;
 import java.time.LocalDateTime;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentInfoDto;
+import ru.practicum.shareit.grpc.CommentMessage;
+import ru.practicum.shareit.grpc.CommentInfoMessage;
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class CommentMapper {
@@ -36,4 +40,20 @@ public class CommentMapper {
                 author
         );
     }
+
+    public static CommentInfoMessage toCommentInfoMessage(CommentInfoDto commentInfoDto) {
+        final CommentInfoMessage.Builder message = CommentInfoMessage.newBuilder();
+        Optional.ofNullable(commentInfoDto.getId()).ifPresent(message::setId);
+        Optional.ofNullable(commentInfoDto.getText()).ifPresent(message::setText);
+        Optional.ofNullable(commentInfoDto.getAuthorName()).ifPresent(message::setAuthorName);
+        Optional.ofNullable(commentInfoDto.getCreated()).map(ISO_LOCAL_DATE_TIME::format).ifPresent(message::setCreated);
+        return message.build();
+    }
+
+    public static CommentDto toCommentDto(CommentMessage message) {
+        return new CommentDto(
+                message.hasId() ? message.getId() : null,
+                message.hasText() ? message.getText() : null
+        );
+    }
 }
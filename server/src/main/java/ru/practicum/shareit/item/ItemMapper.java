@@ -2,16 +2,30 @@ package ru.practicum.shareit.item;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import java.util.Optional;
 import java.util.Set;
+import java.util.List;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.time.LocalDateTime;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.grpc.ItemMessage;
+import ru.practicum.shareit.grpc.IntervalMessage;
+import ru.practicum.shareit.grpc.AvailabilityMessage;
+import ru.practicum.shareit.grpc.ItemBatchResultMessage;
+import ru.practicum.shareit.booking.calendar.BookingInterval;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.BookingMapper;
 import static java.util.stream.Collectors.toSet;
+import static java.util.stream.Collectors.toList;
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ItemMapper {
@@ -78,4 +92,79 @@ public class ItemMapper {
                 .request(request)
                 .build();
     }
+
+    public static AvailabilityDto toAvailabilityDto(Long itemId, LocalDateTime from, LocalDateTime to, List<BookingInterval> busy) {
+        final List<IntervalDto> free = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (BookingInterval interval : busy) {
+            if (interval.getStart().isAfter(cursor)) {
+                free.add(new IntervalDto(cursor, interval.getStart().isBefore(to) ? interval.getStart() : to));
+            }
+            if (interval.getEnd().isAfter(cursor)) {
+                cursor = interval.getEnd();
+            }
+        }
+        if (cursor.isBefore(to)) {
+            free.add(new IntervalDto(cursor, to));
+        }
+        return new AvailabilityDto(
+                itemId,
+                from,
+                to,
+                busy.stream()
+                        .map(it -> new IntervalDto(it.getStart(), it.getEnd()))
+                        .collect(toList()),
+                free
+        );
+    }
+
+    public static ItemMessage toItemMessage(ItemDto itemDto) {
+        final ItemMessage.Builder message = ItemMessage.newBuilder();
+        Optional.ofNullable(itemDto.getId()).ifPresent(message::setId);
+        Optional.ofNullable(itemDto.getName()).ifPresent(message::setName);
+        Optional.ofNullable(itemDto.getDescription()).ifPresent(message::setDescription);
+        Optional.ofNullable(itemDto.getAvailable()).ifPresent(message::setAvailable);
+        Optional.ofNullable(itemDto.getRequestId()).ifPresent(message::setRequestId);
+        Optional.ofNullable(itemDto.getLastBooking()).map(BookingMapper::toBookingMessage).ifPresent(message::setLastBooking);
+        Optional.ofNullable(itemDto.getNextBooking()).map(BookingMapper::toBookingMessage).ifPresent(message::setNextBooking);
+        if (itemDto.getComments() != null) {
+            itemDto.getComments().forEach(it -> message.addComments(CommentMapper.toCommentInfoMessage(it)));
+        }
+        return message.build();
+    }
+
+    public static ItemBatchResultMessage toItemBatchResultMessage(ItemBatchResultDto resultDto) {
+        final ItemBatchResultMessage.Builder message = ItemBatchResultMessage.newBuilder();
+        Optional.ofNullable(resultDto.getIndex()).ifPresent(message::setIndex);
+        Optional.ofNullable(resultDto.getItem()).map(ItemMapper::toItemMessage).ifPresent(message::setItem);
+        Optional.ofNullable(resultDto.getError()).ifPresent(message::setError);
+        return message.build();
+    }
+
+    public static AvailabilityMessage toAvailabilityMessage(AvailabilityDto availabilityDto) {
+        final AvailabilityMessage.Builder message = AvailabilityMessage.newBuilder();
+        Optional.ofNullable(availabilityDto.getItemId()).ifPresent(message::setItemId);
+        Optional.ofNullable(availabilityDto.getFrom()).map(ISO_LOCAL_DATE_TIME::format).ifPresent(message::setFrom);
+        Optional.ofNullable(availabilityDto.getTo()).map(ISO_LOCAL_DATE_TIME::format).ifPresent(message::setTo);
+        availabilityDto.getBusy().forEach(it -> message.addBusy(toIntervalMessage(it)));
+        availabilityDto.getFree().forEach(it -> message.addFree(toIntervalMessage(it)));
+        return message.build();
+    }
+
+    public static ItemDto toItemDto(ItemMessage message) {
+        return ItemDto.builder()
+                .id(message.hasId() ? message.getId() : null)
+                .name(message.hasName() ? message.getName() : null)
+                .description(message.hasDescription() ? message.getDescription() : null)
+                .available(message.hasAvailable() ? message.getAvailable() : null)
+                .requestId(message.hasRequestId() ? message.getRequestId() : null)
+                .build();
+    }
+
+    private static IntervalMessage toIntervalMessage(IntervalDto intervalDto) {
+        return IntervalMessage.newBuilder()
+                .setStart(ISO_LOCAL_DATE_TIME.format(intervalDto.getStart()))
+                .setEnd(ISO_LOCAL_DATE_TIME.format(intervalDto.getEnd()))
+                .build();
+    }
 }
@@ -2,12 +2,17 @@ package ru.practicum.shareit.item.controller;
 
 import java.util.List;
 import java.util.Collections;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import org.springframework.format.annotation.DateTimeFormat;
 import lombok.extern.slf4j.Slf4j;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentInfoDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.service.ItemService;
 
 @Slf4j
@@ -15,6 +20,7 @@ import ru.practicum.shareit.item.service.ItemService;
 @RequestMapping("/items")
 @RequiredArgsConstructor
 public class ItemController {
+    static final long DEFAULT_WINDOW_DAYS = 30;
     private final ItemService itemService;
 
     @GetMapping("{id}")
@@ -25,9 +31,23 @@ public class ItemController {
 
     @GetMapping("/search")
     public List<ItemDto> findAllByText(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                       @RequestParam(value = "text") String text) {
-        log.info("Send get request /items/search?text={}", text);
-        return text.isBlank() ? Collections.emptyList() : itemService.findAllByText(userId, text);
+                                       @RequestParam(value = "text") String text,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+                                       @RequestParam(defaultValue = "0") Integer from,
+                                       @RequestParam(defaultValue = "10") Integer size) {
+        log.info("Send get request /items/search?text={}&start={}&end={}&from={}&size={}", text, start, end, from, size);
+        return text.isBlank() ? Collections.emptyList() : itemService.findAllByText(userId, text, start, end, from, size);
+    }
+
+    @GetMapping("/{id}/availability")
+    public AvailabilityDto findAvailability(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long id,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Send get request /items/{}/availability?from={}&to={}", id, from, to);
+        final LocalDateTime start = from == null ? LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS) : from;
+        final LocalDateTime end = to == null ? start.plusDays(DEFAULT_WINDOW_DAYS) : to;
+        return itemService.findAvailability(userId, id, start, end);
     }
 
     @GetMapping
@@ -36,12 +56,24 @@ public class ItemController {
         return itemService.findAll(userId);
     }
 
+    @GetMapping(params = "ids")
+    public List<ItemDto> findAllByIds(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam List<Long> ids) {
+        log.info("Send get request /items?ids={}", ids);
+        return itemService.findAllByIds(userId, ids);
+    }
+
     @PostMapping
     public ItemDto save(@RequestBody ItemDto itemDto, @RequestHeader("X-Sharer-User-Id") Long userId) {
         log.info("Send post request /items");
         return itemService.save(itemDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<ItemBatchResultDto> saveAll(@RequestBody List<ItemDto> itemDtos, @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Send post request /items/batch, rows={}", itemDtos.size());
+        return itemService.saveAll(itemDtos, userId);
+    }
+
     @PostMapping("/{id}/comment")
     public CommentInfoDto saveComment(@RequestBody CommentDto commentDto,
                                       @RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long id) {
@@ -55,6 +87,12 @@ public class ItemController {
         return itemService.update(itemDto, userId, id);
     }
 
+    @PatchMapping("/batch")
+    public List<ItemBatchResultDto> updateAll(@RequestBody List<ItemDto> itemDtos, @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Send patch request /items/batch, rows={}", itemDtos.size());
+        return itemService.updateAll(itemDtos, userId);
+    }
+
     @DeleteMapping("/{id}")
     public void deleteById(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable Long id) {
         log.info("Send delete request /items/{}", id);
@@ -0,0 +1,145 @@
+package ru.practicum.shareit.item.controller;
+
+import java.util.List;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+import io.grpc.stub.StreamObserver;
+import com.google.protobuf.Empty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.grpc.IdRequest;
+import ru.practicum.shareit.grpc.IdsRequest;
+import ru.practicum.shareit.grpc.UserRequest;
+import ru.practicum.shareit.grpc.ItemList;
+import ru.practicum.shareit.grpc.ItemMessage;
+import ru.practicum.shareit.grpc.ItemsRequest;
+import ru.practicum.shareit.grpc.SaveItemRequest;
+import ru.practicum.shareit.grpc.UpdateItemRequest;
+import ru.practicum.shareit.grpc.SearchItemsRequest;
+import ru.practicum.shareit.grpc.SaveCommentRequest;
+import ru.practicum.shareit.grpc.AvailabilityRequest;
+import ru.practicum.shareit.grpc.AvailabilityMessage;
+import ru.practicum.shareit.grpc.CommentInfoMessage;
+import ru.practicum.shareit.grpc.ItemBatchResultList;
+import ru.practicum.shareit.grpc.ItemServiceGrpc;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.CommentMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.service.ItemService;
+import static java.util.stream.Collectors.toList;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemGrpcController extends ItemServiceGrpc.ItemServiceImplBase {
+    private final ItemService itemService;
+
+    @Override
+    public void findById(IdRequest request, StreamObserver<ItemMessage> responseObserver) {
+        log.info("Send grpc request ItemService/FindById id={}", request.getId());
+        responseObserver.onNext(ItemMapper.toItemMessage(itemService.findById(request.getUserId(), request.getId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findAllByText(SearchItemsRequest request, StreamObserver<ItemList> responseObserver) {
+        log.info("Send grpc request ItemService/FindAllByText text={}&from={}&size={}", request.getText(), request.getFrom(), request.getSize());
+        final LocalDateTime start = request.hasStart() ? LocalDateTime.parse(request.getStart()) : null;
+        final LocalDateTime end = request.hasEnd() ? LocalDateTime.parse(request.getEnd()) : null;
+        if (request.getText().isBlank()) {
+            responseObserver.onNext(ItemList.getDefaultInstance());
+        } else {
+            responseObserver.onNext(toItemList(itemService.findAllByText(request.getUserId(), request.getText(),
+                    start, end, request.getFrom(), request.getSize())));
+        }
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findAvailability(AvailabilityRequest request, StreamObserver<AvailabilityMessage> responseObserver) {
+        log.info("Send grpc request ItemService/FindAvailability id={}", request.getId());
+        final LocalDateTime start = request.hasFrom() ? LocalDateTime.parse(request.getFrom()) : LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        final LocalDateTime end = request.hasTo() ? LocalDateTime.parse(request.getTo()) : start.plusDays(ItemController.DEFAULT_WINDOW_DAYS);
+        responseObserver.onNext(ItemMapper.toAvailabilityMessage(itemService.findAvailability(request.getUserId(), request.getId(), start, end)));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findAll(UserRequest request, StreamObserver<ItemList> responseObserver) {
+        log.info("Send grpc request ItemService/FindAll");
+        responseObserver.onNext(toItemList(itemService.findAll(request.getUserId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findAllByIds(IdsRequest request, StreamObserver<ItemList> responseObserver) {
+        log.info("Send grpc request ItemService/FindAllByIds ids={}", request.getIdsList());
+        responseObserver.onNext(toItemList(itemService.findAllByIds(request.getUserId(), request.getIdsList())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void save(SaveItemRequest request, StreamObserver<ItemMessage> responseObserver) {
+        log.info("Send grpc request ItemService/Save");
+        responseObserver.onNext(ItemMapper.toItemMessage(itemService.save(ItemMapper.toItemDto(request.getItem()), request.getUserId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void saveAll(ItemsRequest request, StreamObserver<ItemBatchResultList> responseObserver) {
+        log.info("Send grpc request ItemService/SaveAll, rows={}", request.getItemsCount());
+        responseObserver.onNext(toItemBatchResultList(itemService.saveAll(toItemDtos(request), request.getUserId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void saveComment(SaveCommentRequest request, StreamObserver<CommentInfoMessage> responseObserver) {
+        log.info("Send grpc request ItemService/SaveComment id={}", request.getId());
+        responseObserver.onNext(CommentMapper.toCommentInfoMessage(itemService.saveComment(CommentMapper.toCommentDto(request.getComment()),
+                request.getUserId(), request.getId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void update(UpdateItemRequest request, StreamObserver<ItemMessage> responseObserver) {
+        log.info("Send grpc request ItemService/Update id={}", request.getId());
+        responseObserver.onNext(ItemMapper.toItemMessage(itemService.update(ItemMapper.toItemDto(request.getItem()),
+                request.getUserId(), request.getId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void updateAll(ItemsRequest request, StreamObserver<ItemBatchResultList> responseObserver) {
+        log.info("Send grpc request ItemService/UpdateAll, rows={}", request.getItemsCount());
+        responseObserver.onNext(toItemBatchResultList(itemService.updateAll(toItemDtos(request), request.getUserId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void deleteById(IdRequest request, StreamObserver<Empty> responseObserver) {
+        log.info("Send grpc request ItemService/DeleteById id={}", request.getId());
+        itemService.deleteById(request.getUserId(), request.getId());
+        responseObserver.onNext(Empty.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
+    private static List<ItemDto> toItemDtos(ItemsRequest request) {
+        return request.getItemsList().stream()
+                .map(ItemMapper::toItemDto)
+                .collect(toList());
+    }
+
+    private static ItemList toItemList(List<ItemDto> itemDtos) {
+        final ItemList.Builder items = ItemList.newBuilder();
+        itemDtos.forEach(it -> items.addItems(ItemMapper.toItemMessage(it)));
+        return items.build();
+    }
+
+    private static ItemBatchResultList toItemBatchResultList(List<ItemBatchResultDto> resultDtos) {
+        final ItemBatchResultList.Builder results = ItemBatchResultList.newBuilder();
+        resultDtos.forEach(it -> results.addResults(ItemMapper.toItemBatchResultMessage(it)));
+        return results.build();
+    }
+}
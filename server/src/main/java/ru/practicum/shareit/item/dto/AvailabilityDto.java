@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+import java.util.List;
+import java.time.LocalDateTime;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class AvailabilityDto {
+    private Long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<IntervalDto> busy;
+    private List<IntervalDto> free;
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class IntervalDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+}
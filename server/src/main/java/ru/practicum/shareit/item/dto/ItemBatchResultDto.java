@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+
+@Setter
+@Getter
+@Builder
+@ToString
+public class ItemBatchResultDto {
+    private Integer index;
+    private ItemDto item;
+    private String error;
+}
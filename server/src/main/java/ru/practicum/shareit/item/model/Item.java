@@ -2,8 +2,11 @@ package ru.practicum.shareit.item.model;
 
 import lombok.*;
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.booking.model.Booking;
 
 @Setter
 @Getter
@@ -12,10 +15,12 @@ import ru.practicum.shareit.request.model.ItemRequest;
 @Builder(toBuilder = true)
 @ToString
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "items")
 @Table(name = "items")
 public class Item {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
     @Column(length = 100)
     private String name;
@@ -31,4 +36,12 @@ public class Item {
     @JoinColumn(name = "request_id")
     @ToString.Exclude
     private ItemRequest request;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_booking_id")
+    @ToString.Exclude
+    private Booking lastBooking;
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "next_booking_id")
+    @ToString.Exclude
+    private Booking nextBooking;
 }
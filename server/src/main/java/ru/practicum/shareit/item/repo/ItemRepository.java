@@ -1,21 +1,79 @@
 package ru.practicum.shareit.item.repo;
 
 import java.util.Set;
+import java.util.Optional;
 import java.util.List;
+import java.util.Collection;
+import java.time.LocalDateTime;
+import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
+import javax.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    @EntityGraph(attributePaths = {"lastBooking", "nextBooking"})
     List<Item> findAllByOwnerId(Long userId);
 
+    @EntityGraph(attributePaths = {"lastBooking", "nextBooking"})
+    List<Item> findAllByIdIn(Collection<Long> ids);
+
+    /**
+     * Item locked until the transaction ends, so booking pointers of one item are recalculated one at a time.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select i from Item i where i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Item> findAllByNextBookingStartLessThanEqual(LocalDateTime date);
+
     Set<Item> findAllByRequestId(Long requestId);
 
+    /**
+     * Portable search, name matches go first.
+     */
+    @Query("select i from Item i where i.available = true and " +
+            "(lower(i.name) like lower(concat('%', ?1, '%')) or " +
+            "lower(i.description) like lower(concat('%', ?1, '%'))) " +
+            "order by case when lower(i.name) like lower(concat('%', ?1, '%')) then 0 else 1 end, i.id")
+    List<Item> findAllByText(String text, Pageable pageable);
+
+    /**
+     * PostgreSQL search, served by pg_trgm gin indexes and ranked by trigram similarity.
+     */
+    @Query(value = "select * from items i where i.is_available = true and " +
+            "(lower(i.name) like lower(concat('%', ?1, '%')) or " +
+            "lower(i.description) like lower(concat('%', ?1, '%'))) " +
+            "order by greatest(similarity(lower(i.name), lower(?1)), similarity(lower(i.description), lower(?1))) desc, i.id",
+            nativeQuery = true)
+    List<Item> findAllByTextRanked(String text, Pageable pageable);
+
+    /**
+     * Portable search of items free in [start, end), name matches go first.
+     */
     @Query("select i from Item i where i.available = true and " +
             "(lower(i.name) like lower(concat('%', ?1, '%')) or " +
-            "lower(i.description) like lower(concat('%', ?1, '%')))")
-    List<Item> findAllByText(String text);
+            "lower(i.description) like lower(concat('%', ?1, '%'))) and not exists " +
+            "(select b.id from Booking b where b.item = i and b.status = ru.practicum.shareit.booking.model.BookingStatus.APPROVED " +
+            "and b.start < ?3 and b.end > ?2) " +
+            "order by case when lower(i.name) like lower(concat('%', ?1, '%')) then 0 else 1 end, i.id")
+    List<Item> findAllByTextAndFree(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    /**
+     * PostgreSQL search of items free in [start, end), the anti-join is served by the booking exclusion constraint index.
+     */
+    @Query(value = "select * from items i where i.is_available = true and " +
+            "(lower(i.name) like lower(concat('%', ?1, '%')) or " +
+            "lower(i.description) like lower(concat('%', ?1, '%'))) and not exists " +
+            "(select 1 from bookings b where b.item_id = i.id and b.status = 'APPROVED' " +
+            "and tstzrange(b.start_date, b.end_date) && tstzrange(cast(?2 as timestamptz), cast(?3 as timestamptz))) " +
+            "order by greatest(similarity(lower(i.name), lower(?1)), similarity(lower(i.description), lower(?1))) desc, i.id",
+            nativeQuery = true)
+    List<Item> findAllByTextAndFreeRanked(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
 
     Set<Item> findItemByRequestIn(List<ItemRequest> requests);
 }
@@ -0,0 +1,218 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.*;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.context.event.EventListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Trigram index over lower case item name and description, kept in the server memory. Matches the database engines:
+ * the whole text is a case insensitive substring of the name or description, name matches first, then by id.
+ * Trigrams of the text narrow the candidates, texts shorter than a trigram check every item.
+ * Changes are applied after the transaction commits. A rebuild loads a fresh index aside and swaps it in,
+ * replaying the changes committed while it was loading, so searches never see a half built index.
+ * A date window is checked against the database a chunk of matched items at a time, only until the page is filled.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+    private static final int GRAM = 3;
+    static final int WINDOW_CHUNK = 500;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private volatile Index index = new Index();
+    private List<Consumer<Index>> pending;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        final Index fresh = new Index();
+        try {
+            itemRepository.findAll().forEach(fresh::put);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pending.forEach(change -> change.accept(fresh));
+            pending = null;
+            index = fresh;
+        }
+        log.info("Item search index is built, items={}, trigrams={}", fresh.items.size(), fresh.grams.size());
+    }
+
+    @Override
+    public List<Item> findAllByText(String text, Pageable pageable) {
+        return match(text).stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .collect(toList());
+    }
+
+    @Override
+    public List<Item> findAllByTextAndFree(String text, LocalDateTime start, LocalDateTime end, Pageable pageable) {
+        final List<Item> matches = match(text);
+        final long wanted = pageable.getOffset() + pageable.getPageSize();
+        final List<Item> free = new ArrayList<>();
+        // Window is checked a chunk of matches at a time until the page is filled, a short text matches everything
+        for (int from = 0; from < matches.size() && free.size() < wanted; from += WINDOW_CHUNK) {
+            final List<Item> chunk = matches.subList(from, Math.min(matches.size(), from + WINDOW_CHUNK));
+            final Set<Long> busy = bookingRepository.findItemIdsWithApprovedOverlap(
+                    chunk.stream().map(Item::getId).collect(toList()), start, end);
+            chunk.stream()
+                    .filter(it -> !busy.contains(it.getId()))
+                    .forEach(free::add);
+        }
+        return free.stream()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .collect(toList());
+    }
+
+    private List<Item> match(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final String word = text.toLowerCase();
+        return index.candidates(word).stream()
+                .filter(it -> Boolean.TRUE.equals(it.getAvailable()))
+                .filter(it -> contains(it.getName(), word) || contains(it.getDescription(), word))
+                .sorted(Comparator.<Item>comparingInt(it -> contains(it.getName(), word) ? 0 : 1).thenComparing(Item::getId))
+                .collect(toList());
+    }
+
+    @Override
+    public void index(Item item) {
+        final Item snapshot = copyOf(item);
+        afterCommit(() -> apply(it -> {
+            it.delete(snapshot.getId());
+            it.put(snapshot);
+        }));
+    }
+
+    @Override
+    public void remove(Long id) {
+        afterCommit(() -> apply(it -> it.delete(id)));
+    }
+
+    private synchronized void apply(Consumer<Index> change) {
+        change.accept(index);
+        if (pending != null) {
+            pending.add(change);
+        }
+    }
+
+    private static boolean contains(String value, String word) {
+        return value != null && value.toLowerCase().contains(word);
+    }
+
+    private static Set<String> grams(Item item) {
+        final Set<String> result = grams(item.getName());
+        result.addAll(grams(item.getDescription()));
+        return result;
+    }
+
+    private static Set<String> grams(String text) {
+        final Set<String> result = new HashSet<>();
+        if (text == null) {
+            return result;
+        }
+        final String value = text.toLowerCase();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private static Item copyOf(Item item) {
+        return Item.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .build();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Items by id and item ids by trigram. Written under the engine lock, read without it.
+     */
+    private static class Index {
+        private final Map<Long, Item> items = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> grams = new ConcurrentHashMap<>();
+
+        void put(Item item) {
+            final Item snapshot = copyOf(item);
+            items.put(snapshot.getId(), snapshot);
+            grams(snapshot).forEach(gram -> grams.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(snapshot.getId()));
+        }
+
+        void delete(Long id) {
+            final Item snapshot = items.remove(id);
+            if (snapshot == null) {
+                return;
+            }
+            grams(snapshot).forEach(gram -> grams.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            }));
+        }
+
+        /**
+         * @return Items having every trigram of the word, or all items if the word is shorter than a trigram.
+         */
+        Collection<Item> candidates(String word) {
+            final Set<String> wordGrams = grams(word);
+            if (wordGrams.isEmpty()) {
+                return items.values();
+            }
+            Set<Long> ids = null;
+            for (String gram : wordGrams) {
+                final Set<Long> matches = grams.getOrDefault(gram, Collections.emptySet());
+                if (ids == null) {
+                    ids = new HashSet<>(matches);
+                } else {
+                    ids.retainAll(matches);
+                }
+                if (ids.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+            return ids.stream()
+                    .map(items::get)
+                    .filter(Objects::nonNull)
+                    .collect(toList());
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import java.time.LocalDateTime;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+public interface ItemSearchEngine {
+    /**
+     * Find available items by key word in name or description, most relevant first.
+     * @param text Key word.
+     * @param pageable Page, sort is ignored.
+     * @return List item.
+     */
+    List<Item> findAllByText(String text, Pageable pageable);
+
+    /**
+     * Find available items by key word without an approved booking intersecting [start, end), most relevant first.
+     * @param text Key word.
+     * @param start Window start.
+     * @param end Window end.
+     * @param pageable Page, sort is ignored.
+     * @return List item.
+     */
+    List<Item> findAllByTextAndFree(String text, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    /**
+     * Add or refresh item after it was saved. Database engines keep nothing and ignore it.
+     * @param item Entity.
+     */
+    default void index(Item item) {
+    }
+
+    /**
+     * Drop item after it was deleted. Database engines keep nothing and ignore it.
+     * @param id Item id.
+     */
+    default void remove(Long id) {
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import java.time.LocalDateTime;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+
+/**
+ * Portable engine for H2 and other databases without pg_trgm.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "like")
+public class LikeItemSearchEngine implements ItemSearchEngine {
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> findAllByText(String text, Pageable pageable) {
+        return itemRepository.findAllByText(text, pageable);
+    }
+
+    @Override
+    public List<Item> findAllByTextAndFree(String text, LocalDateTime start, LocalDateTime end, Pageable pageable) {
+        return itemRepository.findAllByTextAndFree(text, start, end, pageable);
+    }
+}
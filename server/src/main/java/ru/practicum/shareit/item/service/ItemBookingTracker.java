@@ -0,0 +1,80 @@
+package ru.practicum.shareit.item.service;
+
+import java.util.List;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+
+/**
+ * Keeps Item.lastBooking and Item.nextBooking pointed at the latest started and the earliest upcoming approved booking.
+ * Writers lock the item row first, see ItemRepository.findByIdForUpdate, so concurrent approvals of one item
+ * recalculate the pointers one after another.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemBookingTracker {
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    /**
+     * Recalculate pointers, call inside the transaction that changed item bookings, with the item locked.
+     * @param item Managed entity.
+     */
+    public void refresh(Item item) {
+        final Pointers pointers = lookup(item.getId(), LocalDateTime.now());
+        item.setLastBooking(pointers.getLastBooking());
+        item.setNextBooking(pointers.getNextBooking());
+    }
+
+    /**
+     * Pointers for a read. Stored ones are used unless the next booking has already started and the roll-forward
+     * has not moved them yet, then they are looked up without changing the item.
+     * @param item Entity.
+     * @return Last and next booking as of now.
+     */
+    public Pointers current(Item item) {
+        final LocalDateTime currentTime = LocalDateTime.now();
+        if (item.getNextBooking() == null || item.getNextBooking().getStart().isAfter(currentTime)) {
+            return new Pointers(item.getLastBooking(), item.getNextBooking());
+        }
+        return lookup(item.getId(), currentTime);
+    }
+
+    /**
+     * Move pointers of items whose next booking has already started.
+     */
+    @Transactional
+    @Scheduled(fixedDelayString = "${shareit.booking.roll-forward-delay:60000}")
+    public void rollForward() {
+        final List<Item> items = itemRepository.findAllByNextBookingStartLessThanEqual(LocalDateTime.now());
+        items.forEach(this::refresh);
+        if (!items.isEmpty()) {
+            log.info("Item bookings rolled forward, items={}", items.size());
+        }
+    }
+
+    Pointers lookup(Long itemId, LocalDateTime currentTime) {
+        return new Pointers(
+                bookingRepository.findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDesc(
+                        itemId, BookingStatus.APPROVED, currentTime).orElse(null),
+                bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                        itemId, BookingStatus.APPROVED, currentTime).orElse(null));
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Pointers {
+        private final Booking lastBooking;
+        private final Booking nextBooking;
+    }
+}
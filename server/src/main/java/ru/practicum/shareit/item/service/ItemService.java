@@ -1,7 +1,10 @@
 package ru.practicum.shareit.item.service;
 
 import java.util.List;
+import java.time.LocalDateTime;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentInfoDto;
 
@@ -18,9 +21,23 @@ public interface ItemService {
      * Find all items by key word, flag available = true.
      * @param userId User id, owner item.
      * @param text Key word.
-     * @return List item dto.
+     * @param start Window start, null if items are not checked for bookings.
+     * @param end Window end, null if items are not checked for bookings.
+     * @param from Index of the first element.
+     * @param size Number of elements to return.
+     * @return List item dto without approved bookings in the window, most relevant first.
+     */
+    List<ItemDto> findAllByText(Long userId, String text, LocalDateTime start, LocalDateTime end, Integer from, Integer size);
+
+    /**
+     * Find busy and free time of item in the window [from, to).
+     * @param userId User id.
+     * @param id Item id.
+     * @param from Window start.
+     * @param to Window end.
+     * @return AvailabilityDto.
      */
-    List<ItemDto> findAllByText(Long userId, String text);
+    AvailabilityDto findAvailability(Long userId, Long id, LocalDateTime from, LocalDateTime to);
 
     /**
      * Find all items by user id.
@@ -29,6 +46,14 @@ public interface ItemService {
      */
     List<ItemDto> findAll(Long userId);
 
+    /**
+     * Find items by ids, comments and bookings of all items are fetched in bulk.
+     * @param userId User id, owner item.
+     * @param ids Item ids.
+     * @return List item dto in the order of ids, unknown ids are skipped.
+     */
+    List<ItemDto> findAllByIds(Long userId, List<Long> ids);
+
     /**
      * Create item.
      * @param itemDto Entity dto.
@@ -46,6 +71,22 @@ public interface ItemService {
      */
     ItemDto update(ItemDto itemDto, Long userId, Long id);
 
+    /**
+     * Create items in one transaction, rows with an unknown request are skipped.
+     * @param itemDtos Entity dtos.
+     * @param userId User id, owner items.
+     * @return Result of every row in the order of itemDtos, with the item or the error.
+     */
+    List<ItemBatchResultDto> saveAll(List<ItemDto> itemDtos, Long userId);
+
+    /**
+     * Update items by the ids of the rows in one transaction, unknown items and items of other owners are skipped.
+     * @param itemDtos Entity dtos with id.
+     * @param userId User id, owner items.
+     * @return Result of every row in the order of itemDtos, with the item or the error.
+     */
+    List<ItemBatchResultDto> updateAll(List<ItemDto> itemDtos, Long userId);
+
     /**
      * Delete item by id. Only the owner can delete it.
      * @param userId User id, owner item.
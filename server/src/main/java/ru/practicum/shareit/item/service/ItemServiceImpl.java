@@ -2,16 +2,16 @@ package ru.practicum.shareit.item.service;
 
 import java.util.*;
 import java.time.LocalDateTime;
+import ru.practicum.shareit.MyPageRequest;
 import org.springframework.data.domain.Sort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
-import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.model.BookingState;
-import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
 import ru.practicum.shareit.exception.BookingStateExistsException;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.CommentMapper;
@@ -21,11 +21,14 @@ import ru.practicum.shareit.item.repo.CommentRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repo.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserLookup;
 import javax.persistence.EntityNotFoundException;
 import ru.practicum.shareit.exception.UserConflictException;
 import ru.practicum.shareit.exception.CommentForbiddenException;
@@ -37,23 +40,25 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository requestRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final BookingCalendar bookingCalendar;
+    private final ItemBookingTracker itemBookingTracker;
     private static final Comparator<ItemDto> COMPARATOR = newInstance();
 
     @Override
     public ItemDto findById(Long userId, Long id) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final Item itemWrap = itemRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Item with id=%d not found!", id))
         );
-        final List<Booking> bookings = bookingRepository.findAllByItemOwnerId(userWrap.getId());
-        final Booking lastBooking = findBookingByStatePastOrFuture(BookingState.PAST, bookings);
-        final Booking nextBooking = findBookingByStatePastOrFuture(BookingState.FUTURE, bookings);
+        final boolean isOwner = itemWrap.getOwner().getId().equals(userWrap.getId());
+        final ItemBookingTracker.Pointers pointers = isOwner ? itemBookingTracker.current(itemWrap) : null;
+        final Booking lastBooking = isOwner ? pointers.getLastBooking() : null;
+        final Booking nextBooking = isOwner ? pointers.getNextBooking() : null;
         final Set<Comment> comments = commentRepository.findAllByItemId(itemWrap.getId());
         return lastBooking == null || nextBooking == null ?
                 ItemMapper.toItemDto(itemWrap, comments) :
@@ -61,55 +66,74 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDto> findAllByText(Long userId, String text) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
-        final List<Item> items = itemRepository.findAllByOwnerId(userId);
+    public List<ItemDto> findAllByText(Long userId, String text, LocalDateTime start, LocalDateTime end, Integer from, Integer size) {
+        final User userWrap = userLookup.get(userId);
+        if ((start == null) != (end == null)) {
+            throw new IllegalArgumentException("Window start and end must be set together!");
+        }
+        if (start != null && !start.isBefore(end)) {
+            throw new IllegalArgumentException(String.format("Window start=%s must be before end=%s!", start, end));
+        }
+        final MyPageRequest pageRequest = new MyPageRequest(from, size, Sort.unsorted());
+        final List<Item> items = start == null ?
+                itemSearchEngine.findAllByText(text, pageRequest) :
+                itemSearchEngine.findAllByTextAndFree(text, start, end, pageRequest);
         Map<Long, Set<Comment>> comments = commentRepository.findByItemIn(items, Sort.by(DESC, "created")).stream()
                 .collect(groupingBy(comment -> comment.getItem().getId(), toSet()));
 
-        return itemRepository.findAllByText(text).stream()
+        return items.stream()
                 .map(it -> ItemMapper.toItemDto(it, comments.get(it.getId())))
                 .collect(toList());
     }
 
+    @Override
+    public AvailabilityDto findAvailability(Long userId, Long id, LocalDateTime from, LocalDateTime to) {
+        final User userWrap = userLookup.get(userId);
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException(String.format("Window from=%s must be before to=%s!", from, to));
+        }
+        return ItemMapper.toAvailabilityDto(id, from, to, bookingCalendar.findBusy(id, from, to));
+    }
+
     @Override
     public List<ItemDto> findAll(Long userId) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final List<Item> items = itemRepository.findAllByOwnerId(userId);
         Map<Long, Set<Comment>> comments = commentRepository.findByItemIn(items, Sort.by(DESC, "created"))
                 .stream()
                 .collect(groupingBy(comment -> comment.getItem().getId(), toSet()));
 
-        Map<Long, List<Booking>> bookings = bookingRepository.findByItemInAndStatusEquals(items, BookingStatus.APPROVED, Sort.by(DESC, "start"))
-                .stream()
-                .collect(groupingBy(booking -> booking.getItem().getId(), toList()));
-
-        return itemRepository.findAllByOwnerId(userWrap.getId()).stream()
-                .map(it -> ItemMapper.toItemDto(it, comments.get(it.getId())))
-                .peek(it -> {
-                    final Booking lastBooking = bookings.get(it.getId()) == null ? null :
-                            findBookingByStatePastOrFuture(BookingState.PAST, bookings.get(it.getId()));
-                    final Booking nextBooking = bookings.get(it.getId()) == null ? null :
-                            findBookingByStatePastOrFuture(BookingState.FUTURE, bookings.get(it.getId()));
-                    if (lastBooking != null && nextBooking != null) {
-                        it.setLastBooking(BookingMapper.toBookingDto(lastBooking));
-                        it.setNextBooking(BookingMapper.toBookingDto(nextBooking));
-                    }
-                })
+        return items.stream()
+                .map(it -> toOwnerItemDto(it, comments.get(it.getId())))
                 .sorted(COMPARATOR)
                 .collect(toList());
     }
 
+    @Override
+    public List<ItemDto> findAllByIds(Long userId, List<Long> ids) {
+        final User userWrap = userLookup.get(userId);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Item> items = itemRepository.findAllByIdIn(ids);
+        Map<Long, Set<Comment>> comments = commentRepository.findByItemIn(items, Sort.by(DESC, "created")).stream()
+                .collect(groupingBy(comment -> comment.getItem().getId(), toSet()));
+
+        final Map<Long, ItemDto> itemDtos = items.stream()
+                .collect(toMap(Item::getId, it -> !it.getOwner().getId().equals(userWrap.getId()) ?
+                        ItemMapper.toItemDto(it, comments.get(it.getId())) :
+                        toOwnerItemDto(it, comments.get(it.getId()))));
+        return ids.stream()
+                .distinct()
+                .map(itemDtos::get)
+                .filter(Objects::nonNull)
+                .collect(toList());
+    }
+
     @Override
     @Transactional
     public ItemDto save(ItemDto itemDto, Long userId) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         ItemRequest requestWrap = null;
         if (itemDto.getRequestId() != null) {
             requestWrap =  requestRepository.findById(itemDto.getRequestId()).orElseThrow(
@@ -118,6 +142,7 @@ public class ItemServiceImpl implements ItemService {
         }
         final Item item = requestWrap == null ? ItemMapper.toItem(itemDto, userWrap) : ItemMapper.toItem(itemDto, userWrap, requestWrap);
         final Item itemWrap = itemRepository.save(item);
+        itemSearchEngine.index(itemWrap);
         final Set<Comment> comments = commentRepository.findAllByItemId(itemWrap.getId());
         return itemWrap.getRequest() == null ? ItemMapper.toItemDto(itemWrap, comments) : ItemMapper.toItemDto(itemWrap, itemWrap.getRequest());
     }
@@ -125,9 +150,7 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public ItemDto update(ItemDto itemDto, Long userId, Long id) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final Item itemWrap = itemRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Item with id=%d not found!", id))
         );
@@ -135,36 +158,100 @@ public class ItemServiceImpl implements ItemService {
             throw new UserConflictException(String.format("User userId=%d is not the owner of the item!", userId)
             );
         }
-        final Item item = ItemMapper.toItem(itemDto, userWrap);
-        Optional.ofNullable(item.getName()).ifPresent(it -> {
-            if (!item.getName().isBlank()) itemWrap.setName(item.getName());
-        });
-        Optional.ofNullable(item.getDescription()).ifPresent(it -> {
-            if (!item.getDescription().isBlank()) itemWrap.setDescription(item.getDescription());
-        });
-        Optional.ofNullable(item.getAvailable()).ifPresent(itemWrap::setAvailable);
+        patch(itemWrap, ItemMapper.toItem(itemDto, userWrap));
+        itemSearchEngine.index(itemWrap);
         final Set<Comment> comments = commentRepository.findAllByItemId(itemWrap.getId());
         return ItemMapper.toItemDto(itemWrap, comments);
     }
 
+    @Override
+    @Transactional
+    public List<ItemBatchResultDto> saveAll(List<ItemDto> itemDtos, Long userId) {
+        final User userWrap = userLookup.get(userId);
+        final Set<Long> requestIds = itemDtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(toSet());
+        final Map<Long, ItemRequest> requests = requestRepository.findAllById(requestIds).stream()
+                .collect(toMap(ItemRequest::getId, it -> it));
+
+        final List<ItemBatchResultDto> results = new ArrayList<>(itemDtos.size());
+        final Map<Integer, Item> items = new LinkedHashMap<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            final ItemDto itemDto = itemDtos.get(i);
+            results.add(ItemBatchResultDto.builder().index(i).build());
+            if (itemDto.getRequestId() == null) {
+                items.put(i, ItemMapper.toItem(itemDto, userWrap));
+            } else if (requests.containsKey(itemDto.getRequestId())) {
+                items.put(i, ItemMapper.toItem(itemDto, userWrap, requests.get(itemDto.getRequestId())));
+            } else {
+                results.get(i).setError(String.format("Item request with id=%d not found!", itemDto.getRequestId()));
+            }
+        }
+        // Every row is a new item, a client id would turn its insert into a merge over an existing item
+        items.values().forEach(it -> it.setId(null));
+        // Ids come from the pooled sequence, the inserts go out in JDBC batches on flush
+        itemRepository.saveAll(items.values());
+        items.forEach((index, itemWrap) -> {
+            itemSearchEngine.index(itemWrap);
+            results.get(index).setItem(itemWrap.getRequest() == null ?
+                    ItemMapper.toItemDto(itemWrap, Collections.emptySet()) : ItemMapper.toItemDto(itemWrap, itemWrap.getRequest()));
+        });
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<ItemBatchResultDto> updateAll(List<ItemDto> itemDtos, Long userId) {
+        final User userWrap = userLookup.get(userId);
+        final Set<Long> ids = itemDtos.stream()
+                .map(ItemDto::getId)
+                .filter(Objects::nonNull)
+                .collect(toSet());
+        final Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                .collect(toMap(Item::getId, it -> it));
+        final Map<Long, Set<Comment>> comments = items.isEmpty() ? Collections.emptyMap() :
+                commentRepository.findByItemIn(new ArrayList<>(items.values()), Sort.by(DESC, "created")).stream()
+                        .collect(groupingBy(comment -> comment.getItem().getId(), toSet()));
+
+        final List<ItemBatchResultDto> results = new ArrayList<>(itemDtos.size());
+        for (int i = 0; i < itemDtos.size(); i++) {
+            final ItemDto itemDto = itemDtos.get(i);
+            final Item itemWrap = items.get(itemDto.getId());
+            final ItemBatchResultDto result = ItemBatchResultDto.builder().index(i).build();
+            if (itemDto.getId() == null) {
+                result.setError("Item id is required!");
+            } else if (itemWrap == null) {
+                result.setError(String.format("Item with id=%d not found!", itemDto.getId()));
+            } else if (!itemWrap.getOwner().getId().equals(userId)) {
+                result.setError(String.format("User userId=%d is not the owner of the item!", userId));
+            } else {
+                patch(itemWrap, ItemMapper.toItem(itemDto, userWrap));
+                itemSearchEngine.index(itemWrap);
+                result.setItem(ItemMapper.toItemDto(itemWrap, comments.get(itemWrap.getId())));
+            }
+            results.add(result);
+        }
+        // Dirty items are flushed as batched updates on commit
+        return results;
+    }
+
     @Override
     @Transactional
     public void deleteById(Long userId, Long id) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final Item itemWrap = itemRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Item with id=%d not found!", id))
         );
         itemRepository.deleteById(itemWrap.getId());
+        itemSearchEngine.remove(itemWrap.getId());
+        bookingCalendar.evict(itemWrap.getId());
     }
 
     @Override
     @Transactional
     public CommentInfoDto saveComment(CommentDto commentDto, Long userId, Long id) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final Item itemWrap = itemRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Item with id=%d not found!", id))
         );
@@ -181,6 +268,23 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentInfoDto(commentWrap);
     }
 
+    private ItemDto toOwnerItemDto(Item item, Set<Comment> comments) {
+        final ItemBookingTracker.Pointers pointers = itemBookingTracker.current(item);
+        return pointers.getLastBooking() == null || pointers.getNextBooking() == null ?
+                ItemMapper.toItemDto(item, comments) :
+                ItemMapper.toItemDto(item, pointers.getLastBooking(), pointers.getNextBooking(), comments);
+    }
+
+    private void patch(Item itemWrap, Item item) {
+        Optional.ofNullable(item.getName()).ifPresent(it -> {
+            if (!item.getName().isBlank()) itemWrap.setName(item.getName());
+        });
+        Optional.ofNullable(item.getDescription()).ifPresent(it -> {
+            if (!item.getDescription().isBlank()) itemWrap.setDescription(item.getDescription());
+        });
+        Optional.ofNullable(item.getAvailable()).ifPresent(itemWrap::setAvailable);
+    }
+
     private Booking findBookingByStatePastOrFuture(BookingState state, List<Booking> bookings) {
         final LocalDateTime currentTime = LocalDateTime.now();
 
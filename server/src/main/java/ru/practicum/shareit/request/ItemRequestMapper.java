@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import java.util.Optional;
 import java.util.Collections;
 import java.util.Set;
 import java.time.LocalDateTime;
@@ -10,7 +11,9 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.grpc.ItemRequestMessage;
 import static java.util.stream.Collectors.toSet;
+import static java.time.format.DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ItemRequestMapper {
@@ -41,4 +44,23 @@ public class ItemRequestMapper {
                 requestor
         );
     }
+
+    public static ItemRequestMessage toItemRequestMessage(ItemRequestDto requestDto) {
+        final ItemRequestMessage.Builder message = ItemRequestMessage.newBuilder();
+        Optional.ofNullable(requestDto.getId()).ifPresent(message::setId);
+        Optional.ofNullable(requestDto.getDescription()).ifPresent(message::setDescription);
+        Optional.ofNullable(requestDto.getCreated()).map(ISO_LOCAL_DATE_TIME::format).ifPresent(message::setCreated);
+        if (requestDto.getItems() != null) {
+            requestDto.getItems().forEach(it -> message.addItems(ItemMapper.toItemMessage(it)));
+        }
+        return message.build();
+    }
+
+    public static ItemRequestDto toItemRequestDto(ItemRequestMessage message) {
+        return ItemRequestDto.builder()
+                .id(message.hasId() ? message.getId() : null)
+                .description(message.hasDescription() ? message.getDescription() : null)
+                .created(message.hasCreated() ? LocalDateTime.parse(message.getCreated()) : null)
+                .build();
+    }
 }
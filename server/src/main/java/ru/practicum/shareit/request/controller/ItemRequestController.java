@@ -28,6 +28,12 @@ public class ItemRequestController {
         return itemRequestService.findAll(userId);
     }
 
+    @GetMapping(params = "ids")
+    public List<ItemRequestDto> findAllByIds(@RequestHeader("X-Sharer-User-Id") Long userId, @RequestParam List<Long> ids) {
+        log.info("Send get request /requests?ids={}", ids);
+        return itemRequestService.findAllByIds(userId, ids);
+    }
+
     @GetMapping("/all")
     public List<ItemRequestDto> findByPage(@RequestHeader("X-Sharer-User-Id") Long userId,
                                            @RequestParam(name = "from", defaultValue = "0") Integer from,
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.request.controller;
+
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+import io.grpc.stub.StreamObserver;
+import com.google.protobuf.Empty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.grpc.IdRequest;
+import ru.practicum.shareit.grpc.IdsRequest;
+import ru.practicum.shareit.grpc.UserRequest;
+import ru.practicum.shareit.grpc.PageRequest;
+import ru.practicum.shareit.grpc.ItemRequestList;
+import ru.practicum.shareit.grpc.ItemRequestMessage;
+import ru.practicum.shareit.grpc.SaveItemRequestRequest;
+import ru.practicum.shareit.grpc.ItemRequestServiceGrpc;
+import ru.practicum.shareit.request.ItemRequestMapper;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemRequestGrpcController extends ItemRequestServiceGrpc.ItemRequestServiceImplBase {
+    private final ItemRequestService itemRequestService;
+
+    @Override
+    public void findById(IdRequest request, StreamObserver<ItemRequestMessage> responseObserver) {
+        log.info("Send grpc request ItemRequestService/FindById id={}", request.getId());
+        responseObserver.onNext(ItemRequestMapper.toItemRequestMessage(itemRequestService.findById(request.getUserId(), request.getId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findAll(UserRequest request, StreamObserver<ItemRequestList> responseObserver) {
+        log.info("Send grpc request ItemRequestService/FindAll");
+        responseObserver.onNext(toItemRequestList(itemRequestService.findAll(request.getUserId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findAllByIds(IdsRequest request, StreamObserver<ItemRequestList> responseObserver) {
+        log.info("Send grpc request ItemRequestService/FindAllByIds ids={}", request.getIdsList());
+        responseObserver.onNext(toItemRequestList(itemRequestService.findAllByIds(request.getUserId(), request.getIdsList())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findByPage(PageRequest request, StreamObserver<ItemRequestList> responseObserver) {
+        log.info("Send grpc request ItemRequestService/FindByPage from={}&size={}", request.getFrom(), request.getSize());
+        responseObserver.onNext(toItemRequestList(itemRequestService.findByPage(request.getUserId(), request.getFrom(), request.getSize())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void save(SaveItemRequestRequest request, StreamObserver<ItemRequestMessage> responseObserver) {
+        log.info("Send grpc request ItemRequestService/Save");
+        responseObserver.onNext(ItemRequestMapper.toItemRequestMessage(itemRequestService.save(
+                ItemRequestMapper.toItemRequestDto(request.getRequest()), request.getUserId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void deleteById(IdRequest request, StreamObserver<Empty> responseObserver) {
+        log.info("Send grpc request ItemRequestService/DeleteById id={}", request.getId());
+        itemRequestService.deleteById(request.getUserId(), request.getId());
+        responseObserver.onNext(Empty.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+
+    private static ItemRequestList toItemRequestList(List<ItemRequestDto> requestDtos) {
+        final ItemRequestList.Builder requests = ItemRequestList.newBuilder();
+        requestDtos.forEach(it -> requests.addRequests(ItemRequestMapper.toItemRequestMessage(it)));
+        return requests.build();
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.request.model;
 
 import lombok.*;
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import ru.practicum.shareit.user.model.User;
 
@@ -11,6 +13,7 @@ import ru.practicum.shareit.user.model.User;
 @NoArgsConstructor
 @ToString
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "requests")
 @Table(name = "requests")
 public class ItemRequest {
     @Id
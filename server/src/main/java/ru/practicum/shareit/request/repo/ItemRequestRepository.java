@@ -1,12 +1,19 @@
 package ru.practicum.shareit.request.repo;
 
 import java.util.List;
+import javax.persistence.QueryHint;
+import org.hibernate.annotations.QueryHints;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.request.model.ItemRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+/**
+ * Requests are rarely written, their lists are kept in the query cache until the requests table changes.
+ */
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @org.springframework.data.jpa.repository.QueryHints(@QueryHint(name = QueryHints.CACHEABLE, value = "true"))
     List<ItemRequest> findAllByRequestorId(Long userId);
 
+    @org.springframework.data.jpa.repository.QueryHints(@QueryHint(name = QueryHints.CACHEABLE, value = "true"))
     List<ItemRequest> findAllByRequestorIdNot(Long userId, Pageable pageable);
 }
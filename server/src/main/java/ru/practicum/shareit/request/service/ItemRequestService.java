@@ -19,6 +19,14 @@ public interface ItemRequestService {
      */
     List<ItemRequestDto> findAll(Long userId);
 
+    /**
+     * Find item requests by ids, items of all requests are fetched in bulk.
+     * @param userId User id.
+     * @param ids Item request ids.
+     * @return List item request dto in the order of ids, unknown ids are skipped.
+     */
+    List<ItemRequestDto> findAllByIds(Long userId, List<Long> ids);
+
     /**
      * Find all item request, by page.
      * @param userId User id.
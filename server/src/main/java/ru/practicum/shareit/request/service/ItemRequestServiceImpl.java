@@ -3,6 +3,8 @@ package ru.practicum.shareit.request.service;
 import java.util.Set;
 import java.util.Map;
 import java.util.List;
+import java.util.Objects;
+import java.util.Collections;
 import org.springframework.data.domain.Sort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -15,7 +17,7 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repo.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserLookup;
 import javax.persistence.EntityNotFoundException;
 import static java.util.stream.Collectors.*;
 import static org.springframework.data.domain.Sort.Direction.DESC;
@@ -24,15 +26,13 @@ import static org.springframework.data.domain.Sort.Direction.DESC;
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class ItemRequestServiceImpl implements ItemRequestService {
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final ItemRepository itemRepository;
     private final ItemRequestRepository requestRepository;
 
     @Override
     public ItemRequestDto findById(Long userId, Long id) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final ItemRequest requestWrap = requestRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Item request with id=%d not found!", id))
         );
@@ -42,9 +42,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
     @Override
     public List<ItemRequestDto> findAll(Long userId) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final List<ItemRequest> requests = requestRepository.findAllByRequestorId(userWrap.getId());
 
         Map<Long, Set<Item>> items = itemRepository.findItemByRequestIn(requests).stream()
@@ -55,11 +53,28 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(toList());
     }
 
+    @Override
+    public List<ItemRequestDto> findAllByIds(Long userId, List<Long> ids) {
+        final User userWrap = userLookup.get(userId);
+        final List<ItemRequest> requests = requestRepository.findAllById(ids);
+        if (requests.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Set<Item>> items = itemRepository.findItemByRequestIn(requests).stream()
+                .collect(groupingBy(item -> item.getRequest().getId(), toSet()));
+
+        final Map<Long, ItemRequestDto> requestDtos = requests.stream()
+                .collect(toMap(ItemRequest::getId, it -> ItemRequestMapper.toItemRequestDto(it, items.get(it.getId()))));
+        return ids.stream()
+                .distinct()
+                .map(requestDtos::get)
+                .filter(Objects::nonNull)
+                .collect(toList());
+    }
+
     @Override
     public List<ItemRequestDto> findByPage(Long userId, Integer from, Integer size) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final MyPageRequest pageRequest = new MyPageRequest(from, size, Sort.by(DESC, "created"));
         final List<ItemRequest> requests = requestRepository.findAllByRequestorIdNot(userWrap.getId(), pageRequest);
 
@@ -74,9 +89,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public ItemRequestDto save(ItemRequestDto requestDto, Long userId) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final ItemRequest request = ItemRequestMapper.toItemRequest(requestDto, userWrap);
         final ItemRequest requestWrap = requestRepository.save(request);
         return ItemRequestMapper.toItemRequestDto(requestWrap);
@@ -85,9 +98,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional
     public void deleteById(Long userId, Long id) {
-        final User userWrap = userRepository.findById(userId).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", userId))
-        );
+        final User userWrap = userLookup.get(userId);
         final ItemRequest requestWrap = requestRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException(String.format("Item request with id=%d not found!", id))
         );
@@ -2,6 +2,9 @@ package ru.practicum.shareit.user;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import java.util.Optional;
+import ru.practicum.shareit.grpc.UserMessage;
+import ru.practicum.shareit.grpc.BookerMessage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.BookerDto;
@@ -29,4 +32,26 @@ public class UserMapper {
                 userDto.getEmail()
         );
     }
+
+    public static UserMessage toUserMessage(UserDto userDto) {
+        final UserMessage.Builder message = UserMessage.newBuilder();
+        Optional.ofNullable(userDto.getId()).ifPresent(message::setId);
+        Optional.ofNullable(userDto.getName()).ifPresent(message::setName);
+        Optional.ofNullable(userDto.getEmail()).ifPresent(message::setEmail);
+        return message.build();
+    }
+
+    public static BookerMessage toBookerMessage(BookerDto bookerDto) {
+        final BookerMessage.Builder message = BookerMessage.newBuilder();
+        Optional.ofNullable(bookerDto.getId()).ifPresent(message::setId);
+        return message.build();
+    }
+
+    public static UserDto toUserDto(UserMessage message) {
+        return new UserDto(
+                message.hasId() ? message.getId() : null,
+                message.hasName() ? message.getName() : null,
+                message.hasEmail() ? message.getEmail() : null
+        );
+    }
 }
@@ -26,6 +26,12 @@ public class UserController {
         return userService.findAll();
     }
 
+    @GetMapping(params = "ids")
+    public List<UserDto> findAllByIds(@RequestParam List<Long> ids) {
+        log.info("Send get request /users?ids={}", ids);
+        return userService.findAllByIds(ids);
+    }
+
     @PostMapping
     public UserDto save(@RequestBody UserDto userDto) {
         log.info("Send post request /users");
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.user.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+import io.grpc.stub.StreamObserver;
+import com.google.protobuf.Empty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.grpc.IdRequest;
+import ru.practicum.shareit.grpc.IdsRequest;
+import ru.practicum.shareit.grpc.UserList;
+import ru.practicum.shareit.grpc.UserMessage;
+import ru.practicum.shareit.grpc.UpdateUserRequest;
+import ru.practicum.shareit.grpc.UserServiceGrpc;
+import ru.practicum.shareit.user.UserMapper;
+import ru.practicum.shareit.user.service.UserService;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserGrpcController extends UserServiceGrpc.UserServiceImplBase {
+    private final UserService userService;
+
+    @Override
+    public void findById(IdRequest request, StreamObserver<UserMessage> responseObserver) {
+        log.info("Send grpc request UserService/FindById id={}", request.getId());
+        responseObserver.onNext(UserMapper.toUserMessage(userService.findById(request.getId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findAll(Empty request, StreamObserver<UserList> responseObserver) {
+        log.info("Send grpc request UserService/FindAll");
+        final UserList.Builder users = UserList.newBuilder();
+        userService.findAll().forEach(it -> users.addUsers(UserMapper.toUserMessage(it)));
+        responseObserver.onNext(users.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void findAllByIds(IdsRequest request, StreamObserver<UserList> responseObserver) {
+        log.info("Send grpc request UserService/FindAllByIds ids={}", request.getIdsList());
+        final UserList.Builder users = UserList.newBuilder();
+        userService.findAllByIds(request.getIdsList()).forEach(it -> users.addUsers(UserMapper.toUserMessage(it)));
+        responseObserver.onNext(users.build());
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void save(UserMessage request, StreamObserver<UserMessage> responseObserver) {
+        log.info("Send grpc request UserService/Save");
+        responseObserver.onNext(UserMapper.toUserMessage(userService.save(UserMapper.toUserDto(request))));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void update(UpdateUserRequest request, StreamObserver<UserMessage> responseObserver) {
+        log.info("Send grpc request UserService/Update id={}", request.getId());
+        responseObserver.onNext(UserMapper.toUserMessage(userService.update(UserMapper.toUserDto(request.getUser()), request.getId())));
+        responseObserver.onCompleted();
+    }
+
+    @Override
+    public void deleteById(IdRequest request, StreamObserver<Empty> responseObserver) {
+        log.info("Send grpc request UserService/DeleteById id={}", request.getId());
+        userService.deleteById(request.getId());
+        responseObserver.onNext(Empty.getDefaultInstance());
+        responseObserver.onCompleted();
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.user.model;
 
 import lombok.*;
 import javax.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Setter
 @Getter
@@ -9,6 +11,7 @@ import javax.persistence.*;
 @NoArgsConstructor
 @ToString
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users")
 public class User {
     @Id
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.user.service;
+
+import java.time.Duration;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repo.UserRepository;
+import javax.persistence.EntityNotFoundException;
+
+/**
+ * Resolves the X-Sharer-User-Id header to a user, keeping detached copies for a bounded time.
+ * Hit and miss counters are published as the cache.* metrics with tag cache=users.
+ */
+@Component
+public class UserLookup implements MeterBinder {
+    private static final String CACHE_NAME = "users";
+    private final UserRepository userRepository;
+    private final Cache<Long, User> users;
+
+    public UserLookup(UserRepository userRepository,
+                      @Value("${shareit.users.cache-size:10000}") long cacheSize,
+                      @Value("${shareit.users.cache-ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Find user by id.
+     * @param userId User id.
+     * @return User, detached from the persistence context.
+     */
+    public User get(Long userId) {
+        final User user = users.get(userId, id -> userRepository.findById(id)
+                .map(it -> new User(it.getId(), it.getName(), it.getEmail()))
+                .orElse(null));
+        if (user == null) {
+            throw new EntityNotFoundException(String.format("User with id=%d not found!", userId));
+        }
+        return user;
+    }
+
+    /**
+     * Drop cached user after the transaction commits, call on update and delete.
+     * @param userId User id.
+     */
+    public void evict(Long userId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            users.invalidate(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                users.invalidate(userId);
+            }
+        });
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, users, CACHE_NAME);
+    }
+}
@@ -17,6 +17,13 @@ public interface UserService {
      */
     List<UserDto> findAll();
 
+    /**
+     * Find users by ids.
+     * @param ids User ids.
+     * @return List user dto in the order of ids, unknown ids are skipped.
+     */
+    List<UserDto> findAllByIds(List<Long> ids);
+
     /**
      * Create user.
      * @param userDto Entity.
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user.service;
 
+import java.util.Map;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -10,6 +12,7 @@ import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.repo.UserRepository;
 import javax.persistence.EntityNotFoundException;
+import static java.util.stream.Collectors.toMap;
 import static java.util.stream.Collectors.toList;
 
 @Service
@@ -17,12 +20,11 @@ import static java.util.stream.Collectors.toList;
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserLookup userLookup;
 
     @Override
     public UserDto findById(Long id) {
-        final User userWrap = userRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException(String.format("User with id=%d not found!", id))
-        );
+        final User userWrap = userLookup.get(id);
         return UserMapper.toUserDto(userWrap);
     }
 
@@ -33,6 +35,17 @@ public class UserServiceImpl implements UserService {
                 .collect(toList());
     }
 
+    @Override
+    public List<UserDto> findAllByIds(List<Long> ids) {
+        final Map<Long, UserDto> userDtos = userRepository.findAllById(ids).stream()
+                .collect(toMap(User::getId, UserMapper::toUserDto));
+        return ids.stream()
+                .distinct()
+                .map(userDtos::get)
+                .filter(Objects::nonNull)
+                .collect(toList());
+    }
+
     @Override
     @Transactional
     public UserDto save(UserDto userDto) {
@@ -54,6 +67,7 @@ public class UserServiceImpl implements UserService {
         Optional.ofNullable(user.getEmail()).ifPresent(it -> {
             if (!user.getEmail().isBlank()) userWrap.setEmail(user.getEmail());
         });
+        userLookup.evict(id);
         return UserMapper.toUserDto(userWrap);
     }
 
@@ -64,5 +78,6 @@ public class UserServiceImpl implements UserService {
                 () -> new EntityNotFoundException(String.format("User with id=%d not found!", id))
         );
         userRepository.deleteById(userWrap.getId());
+        userLookup.evict(id);
     }
 }
@@ -0,0 +1,12 @@
+-- trigram indexes for item search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON items USING gin (lower(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON items USING gin (lower(description) gin_trgm_ops);
+
+-- last/next approved booking of an item
+CREATE INDEX IF NOT EXISTS bookings_item_approved_start_idx ON bookings (item_id, start_date) WHERE status = 'APPROVED';
+
+-- approved bookings of one item must not overlap
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+ALTER TABLE bookings ADD CONSTRAINT bookings_approved_no_overlap
+    EXCLUDE USING gist (item_id WITH =, tstzrange(start_date, end_date) WITH &&) WHERE (status = 'APPROVED');
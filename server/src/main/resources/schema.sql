@@ -1,4 +1,5 @@
 DROP TABLE IF EXISTS users, requests, items, bookings, comments CASCADE;
+DROP SEQUENCE IF EXISTS items_seq;
 
 -- create table users
 CREATE TABLE IF NOT EXISTS users
@@ -18,15 +19,18 @@ CREATE TABLE IF NOT EXISTS requests
     requestor_id INT REFERENCES users(id)
 );
 
--- create table items
+-- create table items, ids are taken from the sequence by 50 so inserts can be batched
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
 CREATE TABLE IF NOT EXISTS items
 (
-    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     name VARCHAR(100) NOT NULL,
     description VARCHAR(200) NOT NULL,
     is_available BOOLEAN NOT NULL,
     owner_id INT REFERENCES users(id),
-    request_id INT REFERENCES requests(id)
+    request_id INT REFERENCES requests(id),
+    last_booking_id BIGINT,
+    next_booking_id BIGINT
 );
 
 -- create table bookings
@@ -40,6 +44,10 @@ CREATE TABLE IF NOT EXISTS bookings
     booker_id INT REFERENCES users(id)
 );
 
+-- item pointers to its last and next approved booking
+ALTER TABLE items ADD CONSTRAINT items_last_booking_fk FOREIGN KEY (last_booking_id) REFERENCES bookings(id) ON DELETE SET NULL;
+ALTER TABLE items ADD CONSTRAINT items_next_booking_fk FOREIGN KEY (next_booking_id) REFERENCES bookings(id) ON DELETE SET NULL;
+
 -- create table comments
 CREATE TABLE IF NOT EXISTS comments
 (
@@ -49,3 +57,9 @@ CREATE TABLE IF NOT EXISTS comments
     item_id INT REFERENCES items(id),
     author_id INT REFERENCES users(id)
 );
+
+-- indexes for booking lists, keyset by start_date desc, id desc
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (owner_id);
+CREATE INDEX IF NOT EXISTS items_next_booking_idx ON items (next_booking_id);
@@ -0,0 +1,75 @@
+package ru.practicum.shareit;
+
+import java.util.List;
+import java.time.LocalDateTime;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.context.annotation.Import;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repo.ItemRequestRepository;
+import javax.persistence.EntityManagerFactory;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(CacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheConfigTest {
+    private User user;
+    private ItemRequest request;
+    private Statistics statistics;
+    @Autowired
+    private EntityManagerFactory emf;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRequestRepository requestRepository;
+
+    @BeforeEach
+    void init() {
+        user = userRepository.save(new User(null, "Djon", "djon@mail.ru"));
+        request = requestRepository.save(new ItemRequest(null, "Drill 2000 MaxPro", LocalDateTime.now(), user));
+        statistics = emf.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        requestRepository.deleteById(request.getId());
+        userRepository.deleteById(user.getId());
+    }
+
+    @Test
+    void findByIdFromRegion() {
+        userRepository.findById(user.getId());
+        userRepository.findById(user.getId());
+
+        assertEquals(1, statistics.getDomainDataRegionStatistics("users").getMissCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("users").getHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findAllByRequestorIdFromQueryCache() {
+        List<ItemRequest> first = requestRepository.findAllByRequestorId(user.getId());
+        List<ItemRequest> second = requestRepository.findAllByRequestorId(user.getId());
+
+        assertEquals(1, first.size());
+        assertEquals(first.get(0).getId(), second.get(0).getId());
+        assertEquals(1, statistics.getQueryCacheMissCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import static org.junit.jupiter.api.Assertions.*;
+
+class BookingCursorTest {
+    private static final BookingCursor CURSOR = new BookingCursor(LocalDateTime.of(2022, 9, 1, 12, 30, 15), 42L);
+
+    @Test
+    void encodeAndDecode() {
+        BookingCursor cursor = BookingCursor.decode(CURSOR.encode());
+
+        assertEquals(cursor, CURSOR);
+        assertEquals(cursor.getStart(), CURSOR.getStart());
+        assertEquals(cursor.getId(), CURSOR.getId());
+    }
+
+    @Test
+    void encodeIsUrlSafe() {
+        String cursor = BookingCursor.FIRST.encode();
+
+        assertTrue(cursor.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "PPS", "!!!", "MjAyMi0wOS0wMVQxMjozMDoxNQ", "MjAyMi0wOS0wMVQxMjozMDoxNSxhYmM"})
+    void decodeNotValidCursor(String cursor) {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> {
+            BookingCursor.decode(cursor);
+        });
+
+        assertEquals(exception.getMessage(), "Invalid cursor: " + cursor);
+    }
+}
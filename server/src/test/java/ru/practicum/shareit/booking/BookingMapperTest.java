@@ -8,6 +8,7 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInfoDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.grpc.BookingInfoMessage;
 import static org.junit.jupiter.api.Assertions.*;
 
 class BookingMapperTest {
@@ -57,4 +58,27 @@ class BookingMapperTest {
         assertEquals(booking.getItem().getId(), DTO.getItemId());
         assertEquals(booking.getBooker().getId(), DTO.getBookerId());
     }
+
+    @Test
+    void toBookingDtoByMessage() {
+        BookingDto dto = BookingMapper.toBookingDto(BookingMapper.toBookingMessage(DTO));
+
+        assertEquals(dto.getId(), DTO.getId());
+        assertEquals(dto.getStart(), DTO.getStart());
+        assertEquals(dto.getEnd(), DTO.getEnd());
+        assertEquals(dto.getItemId(), DTO.getItemId());
+        assertEquals(dto.getBookerId(), DTO.getBookerId());
+    }
+
+    @Test
+    void toBookingInfoMessage() {
+        BookingInfoMessage message = BookingMapper.toBookingInfoMessage(BookingMapper.toBookingInfoDto(BOOKING));
+
+        assertEquals(message.getId(), BOOKING.getId());
+        assertEquals(LocalDateTime.parse(message.getStart()), BOOKING.getStart());
+        assertEquals(LocalDateTime.parse(message.getEnd()), BOOKING.getEnd());
+        assertEquals(message.getStatus(), BOOKING.getStatus().name());
+        assertEquals(message.getItem().getId(), ITEM.getId());
+        assertEquals(message.getBooker().getId(), BOOKER.getId());
+    }
 }
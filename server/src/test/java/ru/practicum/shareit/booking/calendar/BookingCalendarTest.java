@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking.calendar;
+
+import org.mockito.*;
+import java.util.List;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import javax.persistence.EntityNotFoundException;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingCalendarTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private Item item;
+    private User booker;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    private BookingCalendar bookingCalendar;
+
+    @BeforeEach
+    void init() {
+        booker = new User(2L, "Djon", "djon@mail.ru");
+        item = Item.builder().id(1L).name("Drill").description("Drill 2000 MaxPro").available(true).build();
+        bookingCalendar = new BookingCalendar(itemRepository, bookingRepository, 1);
+    }
+
+    @Test
+    void findBusy() {
+        Mockito.when(itemRepository.existsById(item.getId())).thenReturn(true);
+        Mockito.when(bookingRepository.findAllByItemId(item.getId())).thenReturn(List.of(
+                makeBooking(1L, FROM.minusDays(20), FROM.plusDays(1), BookingStatus.APPROVED),
+                makeBooking(2L, FROM.plusDays(2), FROM.plusDays(3), BookingStatus.APPROVED),
+                makeBooking(3L, FROM.plusDays(4), FROM.plusDays(5), BookingStatus.REJECTED),
+                makeBooking(4L, FROM.plusDays(10), FROM.plusDays(11), BookingStatus.APPROVED)
+        ));
+
+        List<BookingInterval> busy = bookingCalendar.findBusy(item.getId(), FROM, FROM.plusDays(10));
+        bookingCalendar.findBusy(item.getId(), FROM, FROM.plusDays(10));
+
+        assertEquals(2, busy.size());
+        assertEquals(1L, busy.get(0).getBookingId());
+        assertEquals(2L, busy.get(1).getBookingId());
+        Mockito.verify(bookingRepository, Mockito.times(1)).findAllByItemId(item.getId());
+    }
+
+    @Test
+    void findBusyByNotValidItemId() {
+        assertThrows(EntityNotFoundException.class, () -> bookingCalendar.findBusy(item.getId(), FROM, FROM.plusDays(1)));
+    }
+
+    @Test
+    void update() {
+        Mockito.when(itemRepository.existsById(item.getId())).thenReturn(true);
+        Mockito.when(bookingRepository.findAllByItemId(item.getId())).thenReturn(List.of());
+        bookingCalendar.findBusy(item.getId(), FROM, FROM.plusDays(1));
+        Booking booking = makeBooking(1L, FROM, FROM.plusHours(2), BookingStatus.APPROVED);
+
+        bookingCalendar.update(booking);
+        assertEquals(1, bookingCalendar.findBusy(item.getId(), FROM, FROM.plusDays(1)).size());
+
+        booking.setStatus(BookingStatus.REJECTED);
+        bookingCalendar.update(booking);
+        assertEquals(0, bookingCalendar.findBusy(item.getId(), FROM, FROM.plusDays(1)).size());
+    }
+
+    @Test
+    void remove() {
+        Mockito.when(itemRepository.existsById(item.getId())).thenReturn(true);
+        Mockito.when(bookingRepository.findAllByItemId(item.getId()))
+                .thenReturn(List.of(makeBooking(1L, FROM, FROM.plusHours(2), BookingStatus.APPROVED)));
+
+        bookingCalendar.findBusy(item.getId(), FROM, FROM.plusDays(1));
+        bookingCalendar.remove(item.getId(), 1L);
+
+        assertEquals(0, bookingCalendar.findBusy(item.getId(), FROM, FROM.plusDays(1)).size());
+    }
+
+    @Test
+    void findBusyEvictsLeastRecentlyUsed() {
+        Item other = Item.builder().id(2L).name("Saw").description("Hand saw").available(true).build();
+        Mockito.when(itemRepository.existsById(Mockito.anyLong())).thenReturn(true);
+        Mockito.when(bookingRepository.findAllByItemId(Mockito.anyLong())).thenReturn(List.of());
+
+        bookingCalendar.findBusy(item.getId(), FROM, FROM.plusDays(1));
+        bookingCalendar.findBusy(other.getId(), FROM, FROM.plusDays(1));
+        bookingCalendar.findBusy(item.getId(), FROM, FROM.plusDays(1));
+
+        Mockito.verify(bookingRepository, Mockito.times(2)).findAllByItemId(item.getId());
+    }
+
+    @Test
+    void evict() {
+        Mockito.when(itemRepository.existsById(item.getId())).thenReturn(true, false);
+        Mockito.when(bookingRepository.findAllByItemId(item.getId())).thenReturn(List.of());
+        bookingCalendar.findBusy(item.getId(), FROM, FROM.plusDays(1));
+
+        bookingCalendar.evict(item.getId());
+
+        assertThrows(EntityNotFoundException.class, () -> bookingCalendar.findBusy(item.getId(), FROM, FROM.plusDays(1)));
+    }
+
+    private Booking makeBooking(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        return new Booking(id, start, end, status, item, booker);
+    }
+}
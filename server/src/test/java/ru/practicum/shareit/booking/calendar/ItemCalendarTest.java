@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.calendar;
+
+import java.util.List;
+import java.util.Random;
+import java.util.ArrayList;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+import static java.util.stream.Collectors.toList;
+
+class ItemCalendarTest {
+    private static final LocalDateTime FROM = LocalDateTime.of(2030, 1, 1, 0, 0);
+    private ItemCalendar calendar;
+
+    @BeforeEach
+    void init() {
+        calendar = new ItemCalendar();
+    }
+
+    @Test
+    void findAll() {
+        calendar.put(new BookingInterval(1L, FROM.minusDays(20), FROM.plusDays(1)));
+        calendar.put(new BookingInterval(2L, FROM.plusDays(2), FROM.plusDays(3)));
+        calendar.put(new BookingInterval(3L, FROM.plusDays(10), FROM.plusDays(11)));
+        calendar.put(new BookingInterval(4L, FROM.minusDays(2), FROM));
+
+        assertEquals(List.of(1L, 2L), ids(calendar.findAll(FROM, FROM.plusDays(10))));
+    }
+
+    @Test
+    void findAllAfterRemoveOfLongBooking() {
+        calendar.put(new BookingInterval(1L, FROM.minusDays(30), FROM.plusDays(1)));
+        calendar.put(new BookingInterval(2L, FROM.minusHours(2), FROM.plusHours(1)));
+        calendar.put(new BookingInterval(3L, FROM.plusDays(1), FROM.plusDays(1).plusHours(3)));
+
+        calendar.remove(1L);
+
+        assertEquals(List.of(2L), ids(calendar.findAll(FROM, FROM.plusHours(1))));
+    }
+
+    @Test
+    void putReplacesBooking() {
+        calendar.put(new BookingInterval(1L, FROM, FROM.plusDays(5)));
+
+        calendar.put(new BookingInterval(1L, FROM.plusDays(3), FROM.plusDays(4)));
+
+        assertTrue(calendar.findAll(FROM, FROM.plusDays(1)).isEmpty());
+        assertEquals(List.of(1L), ids(calendar.findAll(FROM, FROM.plusDays(5))));
+    }
+
+    @Test
+    void removeUnknownBooking() {
+        calendar.put(new BookingInterval(1L, FROM, FROM.plusDays(1)));
+
+        calendar.remove(2L);
+        calendar.remove(1L);
+
+        assertTrue(calendar.findAll(FROM, FROM.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void staysBalanced() {
+        for (long i = 0; i < 1024; i++) {
+            calendar.put(new BookingInterval(i, FROM.plusDays(i), FROM.plusDays(i).plusHours(12)));
+        }
+        for (long i = 0; i < 512; i++) {
+            calendar.remove(i * 2);
+        }
+
+        assertTrue(calendar.height() <= 14);
+        assertEquals(List.of(101L, 103L), ids(calendar.findAll(FROM.plusDays(100), FROM.plusDays(104))));
+    }
+
+    @Test
+    void findAllAsFullScan() {
+        final Random random = new Random(42);
+        final List<BookingInterval> all = new ArrayList<>();
+        for (long i = 0; i < 300; i++) {
+            final LocalDateTime start = FROM.plusHours(random.nextInt(1000));
+            final BookingInterval interval = new BookingInterval(i, start, start.plusHours(1 + random.nextInt(100)));
+            all.add(interval);
+            calendar.put(interval);
+        }
+        for (int i = 0; i < 100; i++) {
+            final BookingInterval removed = all.remove(random.nextInt(all.size()));
+            calendar.remove(removed.getBookingId());
+        }
+
+        for (int i = 0; i < 200; i++) {
+            final LocalDateTime from = FROM.plusHours(random.nextInt(1100));
+            final LocalDateTime to = from.plusHours(1 + random.nextInt(50));
+            final List<Long> expected = all.stream()
+                    .filter(it -> it.getStart().isBefore(to) && it.getEnd().isAfter(from))
+                    .sorted((first, second) -> first.getStart().equals(second.getStart()) ?
+                            first.getBookingId().compareTo(second.getBookingId()) : first.getStart().compareTo(second.getStart()))
+                    .map(BookingInterval::getBookingId)
+                    .collect(toList());
+
+            assertEquals(expected, ids(calendar.findAll(from, to)));
+        }
+    }
+
+    private static List<Long> ids(List<BookingInterval> intervals) {
+        return intervals.stream()
+                .map(BookingInterval::getBookingId)
+                .collect(toList());
+    }
+}
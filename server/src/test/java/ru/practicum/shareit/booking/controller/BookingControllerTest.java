@@ -5,21 +5,28 @@ import java.time.LocalDateTime;
 import org.mockito.Mockito;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import ru.practicum.shareit.WebConfig;
 import ru.practicum.shareit.utils.LocalDateTimeAdapter;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInfoDto;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BookingOverlapException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.springframework.context.annotation.Import;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,8 +37,11 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import javax.persistence.EntityNotFoundException;
 import ru.practicum.shareit.exception.BookingStateExistsException;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @WebMvcTest(BookingController.class)
+@Import(WebConfig.class)
 class BookingControllerTest {
     private UserDto owner;
     private UserDto booker;
@@ -121,6 +131,49 @@ class BookingControllerTest {
         Mockito.verify(bookingService, Mockito.times(1)).findAllByBookerId(booker.getId(), "ALL", 0, 10);
     }
 
+    @Test
+    @DisplayName("Send GET request /bookings?state={state}&from={from}&size={size}")
+    void findAllByBookerIdReturnsNextCursor() throws Exception {
+        BookingCursor cursor = new BookingCursor(infoDto.getStart(), infoDto.getId());
+        Mockito.when(bookingService.findAllByBookerId(booker.getId(), "ALL", 0, 1)).thenReturn(List.of(infoDto));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/bookings?state={state}&from={from}&size={size}", BookingState.ALL, 0, 1)
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(BookingCursor.HEADER, cursor.encode()));
+
+        Mockito.verify(bookingService, Mockito.times(1)).findAllByBookerId(booker.getId(), "ALL", 0, 1);
+    }
+
+    @Test
+    @DisplayName("Send GET request /bookings?state={state}&size={size}&cursor={cursor}")
+    void findAllByBookerIdAfterCursor() throws Exception {
+        BookingCursor cursor = new BookingCursor(infoDto.getStart(), infoDto.getId());
+        Mockito.when(bookingService.findAllByBookerId(booker.getId(), "ALL", cursor, 10)).thenReturn(List.of(infoDto));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/bookings?state={state}&size={size}&cursor={cursor}", BookingState.ALL, 10, cursor.encode())
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist(BookingCursor.HEADER))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").isNumber());
+
+        Mockito.verify(bookingService, Mockito.times(1)).findAllByBookerId(booker.getId(), "ALL", cursor, 10);
+    }
+
+    @Test
+    @DisplayName("Send GET request /bookings/owner?state={state}&size={size}&cursor={cursor}")
+    void findAllByItemOwnerIdAfterNotValidCursor() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/bookings/owner?state={state}&size={size}&cursor={cursor}", BookingState.ALL, 10, "PPS")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Send GET request /bookings?state={state}&from={from}&size={size}")
     void findAllByBookerIdAndNotValidState() throws Exception {
@@ -150,6 +203,25 @@ class BookingControllerTest {
         Mockito.verify(bookingService, Mockito.times(1)).findAllByItemOwnerId(owner.getId(), "ALL", 0, 10);
     }
 
+    @Test
+    @DisplayName("Send GET request /bookings/owner?state={state}&from={from}&size={size} accepting smile")
+    void findAllByItemOwnerIdAsSmile() throws Exception {
+        Mockito.when(bookingService.findAllByItemOwnerId(owner.getId(), "ALL", 0, 10)).thenReturn(List.of(infoDto));
+        MediaType smile = MediaType.valueOf("application/x-jackson-smile");
+
+        byte[] body = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/bookings/owner?state={state}&from={from}&size={size}", BookingState.ALL, 0, 10)
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .accept(smile))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        JsonNode bookings = new ObjectMapper(new SmileFactory()).readTree(body);
+        assertEquals(infoDto.getId(), bookings.get(0).get("id").asLong());
+        assertTrue(bookings.get(0).get("start").isTextual());
+    }
+
     @Test
     @DisplayName("Send GET request /bookings/owner?state={state}&from={from}&size={size}")
     void findAllByItemOwnerIdAndNotValidState() throws Exception {
@@ -197,6 +269,19 @@ class BookingControllerTest {
         Mockito.verify(bookingService, Mockito.times(1)).update(owner.getId(), booking.getId(), false);
     }
 
+    @Test
+    @DisplayName("Send PATCH request /bookings/{id}?approved={approved}")
+    void updateByOverlap() throws Exception {
+        Mockito.when(bookingService.update(owner.getId(), booking.getId(), true))
+                .thenThrow(new BookingOverlapException("Item with id=1 is already booked for these dates!"));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .patch("/bookings/{id}?approved={approved}", booking.getId(), true)
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @DisplayName("Send PATCH request /bookings/{id}?approved={approved}")
     void updateByNotValidStatus() throws Exception {
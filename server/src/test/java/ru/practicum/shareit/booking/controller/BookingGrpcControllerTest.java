@@ -0,0 +1,144 @@
+package ru.practicum.shareit.booking.controller;
+
+import java.util.List;
+import java.time.LocalDateTime;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.ManagedChannel;
+import io.grpc.ServerInterceptors;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ru.practicum.shareit.grpc.BookingPage;
+import ru.practicum.shareit.grpc.BookingMessage;
+import ru.practicum.shareit.grpc.BookingsRequest;
+import ru.practicum.shareit.grpc.SaveBookingRequest;
+import ru.practicum.shareit.grpc.BookingServiceGrpc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.GrpcErrorInterceptor;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.BookingStateExistsException;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingGrpcControllerTest {
+    private BookingInfoDto infoDto;
+    private Server server;
+    private ManagedChannel channel;
+    private BookingServiceGrpc.BookingServiceBlockingStub stub;
+    @Mock
+    private BookingService bookingService;
+
+    @BeforeEach
+    void init() throws Exception {
+        final User owner = new User(1L, "Nikolas", "nik@mail.ru");
+        final Item item = Item.builder()
+                .id(1L)
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .owner(owner)
+                .build();
+        infoDto = BookingMapper.toBookingInfoDto(new Booking(1L, LocalDateTime.of(2030, 1, 1, 10, 0),
+                LocalDateTime.of(2030, 1, 2, 10, 0), BookingStatus.WAITING, item, new User(2L, "Djon", "djony@mail.ru")));
+        final String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(new BookingGrpcController(bookingService), new GrpcErrorInterceptor()))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name)
+                .directExecutor()
+                .build();
+        stub = BookingServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+        infoDto = null;
+    }
+
+    @Test
+    @DisplayName("Send grpc request BookingService/FindAllByBookerId with full page")
+    void findAllByBookerId() {
+        Mockito.when(bookingService.findAllByBookerId(2L, "ALL", 0, 1)).thenReturn(List.of(infoDto));
+
+        BookingPage page = stub.findAllByBookerId(BookingsRequest.newBuilder()
+                .setUserId(2L)
+                .setState("ALL")
+                .setFrom(0)
+                .setSize(1)
+                .build());
+
+        assertEquals(1, page.getBookingsCount());
+        assertEquals(page.getBookings(0).getStatus(), BookingStatus.WAITING.name());
+        assertEquals(new BookingCursor(infoDto.getStart(), infoDto.getId()).encode(), page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Send grpc request BookingService/FindAllByItemOwnerId by cursor with last page")
+    void findAllByItemOwnerIdByCursor() {
+        final BookingCursor cursor = new BookingCursor(infoDto.getStart(), 5L);
+        Mockito.when(bookingService.findAllByItemOwnerId(1L, "ALL", cursor, 10)).thenReturn(List.of(infoDto));
+
+        BookingPage page = stub.findAllByItemOwnerId(BookingsRequest.newBuilder()
+                .setUserId(1L)
+                .setState("ALL")
+                .setSize(10)
+                .setCursor(cursor.encode())
+                .build());
+
+        assertEquals(1, page.getBookingsCount());
+        assertFalse(page.hasNextCursor());
+    }
+
+    @Test
+    @DisplayName("Send grpc request BookingService/FindAllByBookerId by unknown state")
+    void findAllByBookerIdByUnknownState() {
+        Mockito.when(bookingService.findAllByBookerId(2L, "UNKNOWN", 0, 10))
+                .thenThrow(new BookingStateExistsException("Unknown state: UNKNOWN"));
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () -> {
+            stub.findAllByBookerId(BookingsRequest.newBuilder().setUserId(2L).setState("UNKNOWN").setSize(10).build());
+        });
+
+        assertEquals(Status.Code.INVALID_ARGUMENT, exception.getStatus().getCode());
+        assertEquals("Unknown state: UNKNOWN", exception.getStatus().getDescription());
+    }
+
+    @Test
+    @DisplayName("Send grpc request BookingService/Save with overlapping booking")
+    void saveByOverlap() {
+        Mockito.when(bookingService.save(Mockito.any(BookingDto.class), Mockito.eq(2L)))
+                .thenThrow(new BookingOverlapException("Item is booked!"));
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () -> {
+            stub.save(SaveBookingRequest.newBuilder()
+                    .setUserId(2L)
+                    .setBooking(BookingMessage.newBuilder()
+                            .setStart("2030-01-01T10:00:00")
+                            .setEnd("2030-01-02T10:00:00")
+                            .setItemId(1L))
+                    .build());
+        });
+
+        assertEquals(Status.Code.ALREADY_EXISTS, exception.getStatus().getCode());
+    }
+}
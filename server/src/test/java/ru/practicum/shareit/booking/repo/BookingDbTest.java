@@ -145,6 +145,10 @@ public class BookingDbTest {
         assertThat(newBooking.getStatus()).isEqualTo(dto.getStatus());
         assertThat(newBooking.getItem()).isNotNull();
         assertThat(newBooking.getBooker()).isNotNull();
+        Long lastBookingId = em.createQuery("select i.lastBooking.id from Item as i where i.id = :id", Long.class)
+                .setParameter("id", item.getId())
+                .getSingleResult();
+        assertThat(lastBookingId).isEqualTo(dto.getId());
     }
 
     @Test
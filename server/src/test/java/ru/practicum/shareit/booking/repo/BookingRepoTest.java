@@ -1,8 +1,13 @@
 package ru.practicum.shareit.booking.repo;
 
 import java.util.List;
+import java.util.ArrayList;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.stream.Stream;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
@@ -14,14 +19,19 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.data.domain.Pageable;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingInfoDto;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 public class BookingRepoTest {
+    private static final BookingCursor FIRST = BookingCursor.FIRST;
     private User owner;
     private User booker;
     private Item item;
@@ -64,12 +74,21 @@ public class BookingRepoTest {
         em.clear();
     }
 
+    @Test
+    void findAllByItemOwnerId() {
+        List<Booking> bookings = bookingRepository.findAllByItemOwnerId(owner.getId());
+
+        assertNotNull(owner.getId());
+        assertNotNull(booker.getId());
+        assertNotNull(item.getId());
+        assertNotNull(booking.getId());
+        assertEquals(1, bookings.size());
+    }
+
     @ParameterizedTest
     @MethodSource("getPageable")
-    void findAllByItemOwnerId(Pageable pageable) {
-        List<Booking> bookings = pageable == null ?
-                bookingRepository.findAllByItemOwnerId(owner.getId()) :
-                bookingRepository.findAllByItemOwnerId(owner.getId(), pageable);
+    void findPageByItemOwnerId(Pageable pageable) {
+        List<BookingInfoDto> bookings = bookingRepository.findPageByItemOwnerId(owner.getId(), FIRST.getStart(), FIRST.getId(), pageable);
 
         assertNotNull(owner.getId());
         assertNotNull(booker.getId());
@@ -79,9 +98,9 @@ public class BookingRepoTest {
     }
 
     @Test
-    void findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfter() {
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfter(
-                owner.getId(), LocalDateTime.now(), LocalDateTime.now(), Pageable.unpaged());
+    void findPageByItemOwnerIdAndCurrent() {
+        List<BookingInfoDto> bookings = bookingRepository.findPageByItemOwnerIdAndCurrent(
+                owner.getId(), FIRST.getStart(), FIRST.getId(), LocalDateTime.now(), Pageable.unpaged());
 
         assertNotNull(owner.getId());
         assertNotNull(booker.getId());
@@ -91,13 +110,13 @@ public class BookingRepoTest {
     }
 
     @Test
-    void findAllByItemOwnerIdAndEndIsBefore() {
+    void findPageByItemOwnerIdAndPast() {
         booking.setEnd(LocalDateTime.now().minusDays(2));
         em.merge(booking);
         em.flush();
 
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndEndIsBefore(
-                owner.getId(), LocalDateTime.now(), Pageable.unpaged());
+        List<BookingInfoDto> bookings = bookingRepository.findPageByItemOwnerIdAndPast(
+                owner.getId(), FIRST.getStart(), FIRST.getId(), LocalDateTime.now(), Pageable.unpaged());
 
         assertNotNull(owner.getId());
         assertNotNull(booker.getId());
@@ -107,13 +126,13 @@ public class BookingRepoTest {
     }
 
     @Test
-    void findAllByItemOwnerIdAndStartIsAfter() {
+    void findPageByItemOwnerIdAndFuture() {
         booking.setStart(LocalDateTime.now().plusDays(2));
         em.merge(booking);
         em.flush();
 
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStartIsAfter(
-                owner.getId(), LocalDateTime.now(), Pageable.unpaged());
+        List<BookingInfoDto> bookings = bookingRepository.findPageByItemOwnerIdAndFuture(
+                owner.getId(), FIRST.getStart(), FIRST.getId(), LocalDateTime.now(), Pageable.unpaged());
 
         assertNotNull(owner.getId());
         assertNotNull(booker.getId());
@@ -123,13 +142,13 @@ public class BookingRepoTest {
     }
 
     @Test
-    void findAllByItemOwnerIdAndStatusEquals() {
+    void findPageByItemOwnerIdAndStatus() {
         booking.setStatus(BookingStatus.APPROVED);
         em.merge(booking);
         em.flush();
 
-        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAndStatusEquals(
-                owner.getId(), BookingStatus.APPROVED, Pageable.unpaged());
+        List<BookingInfoDto> bookings = bookingRepository.findPageByItemOwnerIdAndStatus(
+                owner.getId(), FIRST.getStart(), FIRST.getId(), BookingStatus.APPROVED, Pageable.unpaged());
 
         assertNotNull(owner.getId());
         assertNotNull(booker.getId());
@@ -139,8 +158,9 @@ public class BookingRepoTest {
     }
 
     @Test
-    void findAllByBookerId() {
-        List<Booking> bookings = bookingRepository.findAllByBookerId(booker.getId(), Pageable.unpaged());
+    void findPageByBookerId() {
+        List<BookingInfoDto> bookings = bookingRepository.findPageByBookerId(
+                booker.getId(), FIRST.getStart(), FIRST.getId(), Pageable.unpaged());
 
         assertNotNull(owner.getId());
         assertNotNull(booker.getId());
@@ -150,9 +170,9 @@ public class BookingRepoTest {
     }
 
     @Test
-    void findAllByBookerIdAndStartIsBeforeAndEndIsAfter() {
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfter(
-                booker.getId(), LocalDateTime.now(), LocalDateTime.now(), Pageable.unpaged());
+    void findPageByBookerIdAndCurrent() {
+        List<BookingInfoDto> bookings = bookingRepository.findPageByBookerIdAndCurrent(
+                booker.getId(), FIRST.getStart(), FIRST.getId(), LocalDateTime.now(), Pageable.unpaged());
 
         assertNotNull(owner.getId());
         assertNotNull(booker.getId());
@@ -162,13 +182,13 @@ public class BookingRepoTest {
     }
 
     @Test
-    void findAllByBookerIdAndEndIsBefore() {
+    void findPageByBookerIdAndPast() {
         booking.setEnd(LocalDateTime.now().minusDays(2));
         em.merge(booking);
         em.flush();
 
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndEndIsBefore(
-                booker.getId(), LocalDateTime.now(), Pageable.unpaged());
+        List<BookingInfoDto> bookings = bookingRepository.findPageByBookerIdAndPast(
+                booker.getId(), FIRST.getStart(), FIRST.getId(), LocalDateTime.now(), Pageable.unpaged());
 
         assertNotNull(owner.getId());
         assertNotNull(booker.getId());
@@ -178,13 +198,13 @@ public class BookingRepoTest {
     }
 
     @Test
-    void findAllByBookerIdAndStartIsAfter() {
+    void findPageByBookerIdAndFuture() {
         booking.setStart(LocalDateTime.now().plusDays(2));
         em.merge(booking);
         em.flush();
 
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStartIsAfter(
-                booker.getId(), LocalDateTime.now(), Pageable.unpaged());
+        List<BookingInfoDto> bookings = bookingRepository.findPageByBookerIdAndFuture(
+                booker.getId(), FIRST.getStart(), FIRST.getId(), LocalDateTime.now(), Pageable.unpaged());
 
         assertNotNull(owner.getId());
         assertNotNull(booker.getId());
@@ -194,13 +214,13 @@ public class BookingRepoTest {
     }
 
     @Test
-    void findAllByBookerIdAndStatusEquals() {
+    void findPageByBookerIdAndStatus() {
         booking.setStatus(BookingStatus.APPROVED);
         em.merge(booking);
         em.flush();
 
-        List<Booking> bookings = bookingRepository.findAllByBookerIdAndStatusEquals(
-                booker.getId(), BookingStatus.APPROVED, Pageable.unpaged());
+        List<BookingInfoDto> bookings = bookingRepository.findPageByBookerIdAndStatus(
+                booker.getId(), FIRST.getStart(), FIRST.getId(), BookingStatus.APPROVED, Pageable.unpaged());
 
         assertNotNull(owner.getId());
         assertNotNull(booker.getId());
@@ -209,6 +229,126 @@ public class BookingRepoTest {
         assertEquals(1, bookings.size());
     }
 
+    @Test
+    void findPageByBookerIdWalksAllPagesByCursor() {
+        LocalDateTime start = booking.getStart().withNano(0);
+        List<Booking> seeded = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            Booking other = new Booking(null, start.minusDays(i % 3), start.plusDays(5), BookingStatus.WAITING, item, booker);
+            em.persist(other);
+            seeded.add(other);
+        }
+        em.flush();
+        Pageable pageable = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "start", "id"));
+
+        List<BookingInfoDto> visited = new ArrayList<>();
+        BookingCursor cursor = FIRST;
+        List<BookingInfoDto> page;
+        do {
+            page = bookingRepository.findPageByBookerId(booker.getId(), cursor.getStart(), cursor.getId(), pageable);
+            visited.addAll(page);
+            if (!page.isEmpty()) {
+                BookingInfoDto last = page.get(page.size() - 1);
+                cursor = new BookingCursor(last.getStart(), last.getId());
+            }
+        } while (page.size() == 3);
+
+        assertEquals(8, visited.size());
+        assertEquals(8, visited.stream().map(BookingInfoDto::getId).distinct().count());
+        for (int i = 1; i < visited.size(); i++) {
+            BookingInfoDto prev = visited.get(i - 1);
+            BookingInfoDto next = visited.get(i);
+            assertTrue(prev.getStart().isAfter(next.getStart()) ||
+                    prev.getStart().isEqual(next.getStart()) && prev.getId() > next.getId());
+        }
+        seeded.forEach(em::remove);
+    }
+
+    @Test
+    void findPageByItemOwnerIdUsesOneStatementWithoutEntities() {
+        List<Object> seeded = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User otherBooker = new User(null, "Booker" + i, "booker" + i + "@mail.ru");
+            Item otherItem = Item.builder().name("Saw" + i).description("Hand saw").available(true).owner(owner).build();
+            Booking other = new Booking(null, booking.getStart().minusDays(i + 1), booking.getEnd(), BookingStatus.WAITING, otherItem, otherBooker);
+            em.persist(otherBooker);
+            em.persist(otherItem);
+            em.persist(other);
+            seeded.add(0, otherBooker);
+            seeded.add(0, otherItem);
+            seeded.add(0, other);
+        }
+        em.flush();
+        em.clear();
+        Statistics statistics = getStatistics();
+        statistics.clear();
+
+        List<BookingInfoDto> bookings = bookingRepository.findPageByItemOwnerId(owner.getId(), FIRST.getStart(), FIRST.getId(),
+                PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id")));
+
+        assertEquals(6, bookings.size());
+        assertEquals("Saw0", bookings.get(1).getItem().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, em.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+        seeded.forEach(it -> em.remove(em.getEntityManager().merge(it)));
+    }
+
+    @Test
+    void findByIdUsesOneStatement() {
+        em.flush();
+        em.clear();
+        Statistics statistics = getStatistics();
+        statistics.clear();
+
+        BookingInfoDto dto = BookingMapper.toBookingInfoDto(bookingRepository.findById(booking.getId()).orElseThrow());
+
+        assertEquals(item.getName(), dto.getItem().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findFirstApprovedLastAndNextByItemId() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> seeded = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            BookingStatus status = i % 4 == 0 ? BookingStatus.REJECTED : BookingStatus.APPROVED;
+            seeded.add(new Booking(null, now.minusDays(i), now.minusDays(i).plusHours(1), status, item, booker));
+            seeded.add(new Booking(null, now.plusDays(i), now.plusDays(i).plusHours(1), status, item, booker));
+        }
+        seeded.add(new Booking(null, now.minusHours(1), now.plusHours(1), BookingStatus.WAITING, item, booker));
+        seeded.add(new Booking(null, now.plusHours(1), now.plusHours(2), BookingStatus.REJECTED, item, booker));
+        seeded.forEach(em::persist);
+        em.flush();
+
+        Booking last = bookingRepository.findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDesc(
+                item.getId(), BookingStatus.APPROVED, now).orElseThrow();
+        Booking next = bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                item.getId(), BookingStatus.APPROVED, now).orElseThrow();
+
+        assertEquals(now.minusDays(1), last.getStart());
+        assertEquals(now.plusDays(1), next.getStart());
+        assertTrue(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                item.getId(), BookingStatus.APPROVED, now.plusDays(30)).isEmpty());
+        seeded.forEach(em::remove);
+    }
+
+    @Test
+    void existsApprovedOverlap() {
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = start.plusDays(2);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(BookingStatus.APPROVED);
+        em.merge(booking);
+        em.flush();
+
+        assertTrue(bookingRepository.existsApprovedOverlap(item.getId(), start.plusDays(1), end.plusDays(1), 0L));
+        assertTrue(bookingRepository.existsApprovedOverlap(item.getId(), start.minusDays(1), start.plusHours(1), 0L));
+        assertFalse(bookingRepository.existsApprovedOverlap(item.getId(), end, end.plusDays(1), 0L));
+        assertFalse(bookingRepository.existsApprovedOverlap(item.getId(), start.minusDays(1), start, 0L));
+        assertFalse(bookingRepository.existsApprovedOverlap(item.getId(), start, end, booking.getId()));
+    }
+
     @Test
     void findAllByItemId() {
         List<Booking> bookings = bookingRepository.findAllByItemId(item.getId());
@@ -232,10 +372,14 @@ public class BookingRepoTest {
         assertEquals(1, bookings.size());
     }
 
+    private Statistics getStatistics() {
+        return em.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    }
+
     private static Stream<Arguments> getPageable() {
         return Stream.of(
-                Arguments.of((Pageable) null),
-                Arguments.of(Pageable.unpaged())
+                Arguments.of(Pageable.unpaged()),
+                Arguments.of(PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id")))
         );
     }
 }
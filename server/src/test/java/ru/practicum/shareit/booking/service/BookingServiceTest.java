@@ -14,21 +14,27 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.MyPageRequest;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingInfoDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingCursor;
 import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repo.BookingRepository;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
 import ru.practicum.shareit.exception.BookingStateExistsException;
 import ru.practicum.shareit.exception.BookingStatusException;
 import ru.practicum.shareit.exception.UserConflictException;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingTracker;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserLookup;
 import javax.persistence.EntityNotFoundException;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -39,11 +45,15 @@ class BookingServiceTest {
     private Item item;
     private Booking booking;
     @Mock
-    private UserRepository userRepository;
+    private UserLookup userLookup;
     @Mock
     private ItemRepository itemRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private ItemBookingTracker itemBookingTracker;
+    @Mock
+    private BookingCalendar bookingCalendar;
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -71,7 +81,7 @@ class BookingServiceTest {
 
     @Test
     void findById() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         BookingInfoDto dto = bookingService.findById(owner.getId(), booking.getId());
@@ -83,13 +93,15 @@ class BookingServiceTest {
         assertNotNull(dto.getItem().getId());
         assertNotNull(dto.getBooker());
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
         Mockito.verify(bookingRepository, Mockito.times(1)).findById(booking.getId());
     }
 
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void findByNotValidUserId(Long userId) {
+        Mockito.when(userLookup.get(userId)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", userId)));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             bookingService.findById(userId, booking.getId());
         });
@@ -103,7 +115,7 @@ class BookingServiceTest {
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void findByNotValidId(Long id) {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             bookingService.findById(owner.getId(), id);
@@ -114,13 +126,13 @@ class BookingServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
     }
 
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void findByOtherUserNotValidUserId(Long userId) {
-        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(new User()));
+        Mockito.when(userLookup.get(userId)).thenReturn(new User());
         Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
@@ -132,48 +144,49 @@ class BookingServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(userId);
+        Mockito.verify(userLookup, Mockito.times(1)).get(userId);
         Mockito.verify(bookingRepository, Mockito.times(1)).findById(booking.getId());
     }
 
     @ParameterizedTest
     @EnumSource(BookingState.class)
     void findAllByBookerId(BookingState state) {
-        MyPageRequest pageRequest = new MyPageRequest(0, 10, Sort.by(Sort.Direction.DESC, "start"));
+        MyPageRequest pageRequest = new MyPageRequest(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+        BookingCursor cursor = BookingCursor.FIRST;
         LocalDateTime currentTime = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
 
-        Mockito.when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        Mockito.when(userLookup.get(booker.getId())).thenReturn(booker);
         switch (state) {
             case CURRENT: {
-                Mockito.when(bookingRepository.findAllByBookerIdAndStartIsBeforeAndEndIsAfter(booker.getId(), currentTime,
-                        currentTime, pageRequest)).thenReturn(List.of(booking));
+                Mockito.when(bookingRepository.findPageByBookerIdAndCurrent(booker.getId(), cursor.getStart(),
+                        cursor.getId(), currentTime, pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
                 break;
             }
             case PAST: {
                 booking.setEnd(LocalDateTime.now().minusDays(5));
-                Mockito.when(bookingRepository.findAllByBookerIdAndEndIsBefore(booker.getId(), currentTime,
-                        pageRequest)).thenReturn(List.of(booking));
+                Mockito.when(bookingRepository.findPageByBookerIdAndPast(booker.getId(), cursor.getStart(),
+                        cursor.getId(), currentTime, pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
                 break;
             }
             case FUTURE: {
                 booking.setStart(LocalDateTime.now().plusDays(5));
-                Mockito.when(bookingRepository.findAllByBookerIdAndStartIsAfter(booker.getId(), currentTime,
-                        pageRequest)).thenReturn(List.of(booking));
+                Mockito.when(bookingRepository.findPageByBookerIdAndFuture(booker.getId(), cursor.getStart(),
+                        cursor.getId(), currentTime, pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
                 break;
             }
             case WAITING: {
-                Mockito.when(bookingRepository.findAllByBookerIdAndStatusEquals(booker.getId(), booking.getStatus(),
-                        pageRequest)).thenReturn(List.of(booking));
+                Mockito.when(bookingRepository.findPageByBookerIdAndStatus(booker.getId(), cursor.getStart(),
+                        cursor.getId(), booking.getStatus(), pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
                 break;
             }
             case REJECTED: {
                 booking.setStatus(BookingStatus.REJECTED);
-                Mockito.when(bookingRepository.findAllByBookerIdAndStatusEquals(booker.getId(), booking.getStatus(),
-                        pageRequest)).thenReturn(List.of(booking));
+                Mockito.when(bookingRepository.findPageByBookerIdAndStatus(booker.getId(), cursor.getStart(),
+                        cursor.getId(), booking.getStatus(), pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
                 break;
             }
             case ALL: {
-                Mockito.when(bookingRepository.findAllByBookerId(booker.getId(), pageRequest)).thenReturn(List.of(booking));
+                Mockito.when(bookingRepository.findPageByBookerId(booker.getId(), cursor.getStart(), cursor.getId(), pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
                 break;
             }
         }
@@ -186,6 +199,8 @@ class BookingServiceTest {
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void findAllByBookerNotValidUserId(Long userId) {
+        Mockito.when(userLookup.get(userId)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", userId)));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             bookingService.findAllByBookerId(userId, BookingState.ALL.name(), 0, 10);
         });
@@ -199,7 +214,7 @@ class BookingServiceTest {
     @ParameterizedTest
     @ValueSource(strings = {" ", "", "PPS", "VENICE"})
     void findAllByBookerNotValidBookingState(String state) {
-        Mockito.when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        Mockito.when(userLookup.get(booker.getId())).thenReturn(booker);
 
         BookingStateExistsException exception = assertThrows(BookingStateExistsException.class, () -> {
             bookingService.findAllByBookerId(booker.getId(), state, 0, 10);
@@ -210,47 +225,48 @@ class BookingServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(booker.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(booker.getId());
     }
 
     @ParameterizedTest
     @EnumSource(BookingState.class)
     void findAllByItemOwnerId(BookingState state) {
-        MyPageRequest pageRequest = new MyPageRequest(0, 10, Sort.by(Sort.Direction.DESC, "start"));
+        MyPageRequest pageRequest = new MyPageRequest(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+        BookingCursor cursor = BookingCursor.FIRST;
         LocalDateTime currentTime = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
 
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         switch (state) {
             case CURRENT: {
-                Mockito.when(bookingRepository.findAllByItemOwnerIdAndStartIsBeforeAndEndIsAfter(owner.getId(), currentTime,
-                        currentTime, pageRequest)).thenReturn(List.of(booking));
+                Mockito.when(bookingRepository.findPageByItemOwnerIdAndCurrent(owner.getId(), cursor.getStart(),
+                        cursor.getId(), currentTime, pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
                 break;
             }
             case PAST: {
                 booking.setEnd(currentTime.minusDays(5));
-                Mockito.when(bookingRepository.findAllByItemOwnerIdAndEndIsBefore(owner.getId(), currentTime,
-                        pageRequest)).thenReturn(List.of(booking));
+                Mockito.when(bookingRepository.findPageByItemOwnerIdAndPast(owner.getId(), cursor.getStart(),
+                        cursor.getId(), currentTime, pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
                 break;
             }
             case FUTURE: {
                 booking.setStart(currentTime.plusDays(5));
-                Mockito.when(bookingRepository.findAllByItemOwnerIdAndStartIsAfter(owner.getId(), currentTime,
-                        pageRequest)).thenReturn(List.of(booking));
+                Mockito.when(bookingRepository.findPageByItemOwnerIdAndFuture(owner.getId(), cursor.getStart(),
+                        cursor.getId(), currentTime, pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
                 break;
             }
             case WAITING: {
-                Mockito.when(bookingRepository.findAllByItemOwnerIdAndStatusEquals(owner.getId(), booking.getStatus(),
-                        pageRequest)).thenReturn(List.of(booking));
+                Mockito.when(bookingRepository.findPageByItemOwnerIdAndStatus(owner.getId(), cursor.getStart(),
+                        cursor.getId(), booking.getStatus(), pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
                 break;
             }
             case REJECTED: {
                 booking.setStatus(BookingStatus.REJECTED);
-                Mockito.when(bookingRepository.findAllByItemOwnerIdAndStatusEquals(owner.getId(), booking.getStatus(),
-                        pageRequest)).thenReturn(List.of(booking));
+                Mockito.when(bookingRepository.findPageByItemOwnerIdAndStatus(owner.getId(), cursor.getStart(),
+                        cursor.getId(), booking.getStatus(), pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
                 break;
             }
             case ALL: {
-                Mockito.when(bookingRepository.findAllByItemOwnerId(owner.getId(), pageRequest)).thenReturn(List.of(booking));
+                Mockito.when(bookingRepository.findPageByItemOwnerId(owner.getId(), cursor.getStart(), cursor.getId(), pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
                 break;
             }
         }
@@ -263,6 +279,8 @@ class BookingServiceTest {
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void findAllByItemOwnerNotValidUserId(Long userId) {
+        Mockito.when(userLookup.get(userId)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", userId)));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             bookingService.findAllByItemOwnerId(userId, BookingState.ALL.name(), 0, 10);
         });
@@ -276,7 +294,7 @@ class BookingServiceTest {
     @ParameterizedTest
     @ValueSource(strings = {" ", "", "PPS", "VENICE"})
     void findAllByItemOwnerNotValidBookingState(String state) {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
 
         BookingStateExistsException exception = assertThrows(BookingStateExistsException.class, () -> {
             bookingService.findAllByItemOwnerId(owner.getId(), state, 0, 10);
@@ -287,12 +305,70 @@ class BookingServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
+    }
+
+    @Test
+    void findAllByBookerIdAfterCursor() {
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+        BookingCursor cursor = new BookingCursor(booking.getStart().plusDays(1), 10L);
+
+        Mockito.when(userLookup.get(booker.getId())).thenReturn(booker);
+        Mockito.when(bookingRepository.findPageByBookerId(booker.getId(), cursor.getStart(), cursor.getId(),
+                pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
+
+        List<BookingInfoDto> bookings = bookingService.findAllByBookerId(booker.getId(), BookingState.ALL.name(), cursor, 10);
+
+        assertEquals(bookings.size(), 1);
+
+        Mockito.verify(bookingRepository, Mockito.times(1)).findPageByBookerId(booker.getId(), cursor.getStart(),
+                cursor.getId(), pageRequest);
+    }
+
+    @Test
+    void findAllByItemOwnerIdAfterCursor() {
+        PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "start", "id"));
+        BookingCursor cursor = new BookingCursor(booking.getStart().plusDays(1), 10L);
+
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+        Mockito.when(bookingRepository.findPageByItemOwnerIdAndStatus(owner.getId(), cursor.getStart(), cursor.getId(),
+                BookingStatus.WAITING, pageRequest)).thenReturn(List.of(BookingMapper.toBookingInfoDto(booking)));
+
+        List<BookingInfoDto> bookings = bookingService.findAllByItemOwnerId(owner.getId(), BookingState.WAITING.name(), cursor, 10);
+
+        assertEquals(bookings.size(), 1);
+
+        Mockito.verify(bookingRepository, Mockito.times(1)).findPageByItemOwnerIdAndStatus(owner.getId(),
+                cursor.getStart(), cursor.getId(), BookingStatus.WAITING, pageRequest);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {" ", "", "PPS", "VENICE"})
+    void findAllByBookerAfterCursorNotValidBookingState(String state) {
+        Mockito.when(userLookup.get(booker.getId())).thenReturn(booker);
+
+        BookingStateExistsException exception = assertThrows(BookingStateExistsException.class, () -> {
+            bookingService.findAllByBookerId(booker.getId(), state, BookingCursor.FIRST, 10);
+        });
+
+        assertEquals(exception.getMessage(), "Unknown state: UNSUPPORTED_STATUS");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {" ", "", "PPS", "VENICE"})
+    void findAllByItemOwnerAfterCursorNotValidBookingState(String state) {
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+
+        BookingStateExistsException exception = assertThrows(BookingStateExistsException.class, () -> {
+            bookingService.findAllByItemOwnerId(owner.getId(), state, BookingCursor.FIRST, 10);
+        });
+
+        assertEquals(exception.getMessage(), "Unknown state: UNSUPPORTED_STATUS");
     }
 
     @Test
     void save() {
-        Mockito.when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        Mockito.when(userLookup.get(booker.getId())).thenReturn(booker);
         Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
         Mockito.when(bookingRepository.save(Mockito.any())).thenReturn(booking);
 
@@ -305,14 +381,33 @@ class BookingServiceTest {
         assertNotNull(savedDto.getItem());
         assertNotNull(savedDto.getBooker());
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(booker.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(booker.getId());
         Mockito.verify(itemRepository, Mockito.times(1)).findById(item.getId());
         Mockito.verify(bookingRepository, Mockito.times(1)).save(Mockito.any());
+        Mockito.verify(bookingCalendar, Mockito.times(1)).update(booking);
+    }
+
+    @Test
+    void saveByOverlap() {
+        Mockito.when(userLookup.get(booker.getId())).thenReturn(booker);
+        Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        Mockito.when(bookingRepository.existsApprovedOverlap(item.getId(), booking.getStart(), booking.getEnd(), 0L)).thenReturn(true);
+
+        BookingOverlapException exception = assertThrows(BookingOverlapException.class, () -> {
+            bookingService.save(BookingMapper.toBookingDto(booking), booker.getId());
+        });
+
+        String expectedMessage = exception.getMessage();
+        String actualMessage = String.format("Item with id=%d is already booked for these dates!", item.getId());
+
+        assertEquals(expectedMessage, actualMessage);
+
+        Mockito.verify(bookingRepository, Mockito.never()).save(Mockito.any());
     }
 
     @Test
     void saveByOwner() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
         UserConflictException exception = assertThrows(UserConflictException.class, () -> {
@@ -325,14 +420,14 @@ class BookingServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
         Mockito.verify(itemRepository, Mockito.times(1)).findById(item.getId());
     }
 
     @Test
     void saveByNotValidAvailable() {
         item.setAvailable(false);
-        Mockito.when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        Mockito.when(userLookup.get(booker.getId())).thenReturn(booker);
         Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
         BookingStatusException exception = assertThrows(BookingStatusException.class, () -> {
@@ -345,12 +440,14 @@ class BookingServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(booker.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(booker.getId());
         Mockito.verify(itemRepository, Mockito.times(1)).findById(item.getId());
     }
 
     @Test
     void saveByNotValidUserId() {
+        Mockito.when(userLookup.get(booker.getId())).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", booker.getId())));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             BookingDto dto = BookingMapper.toBookingDto(booking);
             bookingService.save(dto, booker.getId());
@@ -364,7 +461,7 @@ class BookingServiceTest {
 
     @Test
     void saveByNotValidItemId() {
-        Mockito.when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        Mockito.when(userLookup.get(booker.getId())).thenReturn(booker);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             BookingDto dto = BookingMapper.toBookingDto(booking);
@@ -376,14 +473,14 @@ class BookingServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(booker.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(booker.getId());
     }
 
     @ParameterizedTest
     @ValueSource(booleans = {false, true})
     void update(Boolean approved) {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+        Mockito.when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
         Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         BookingInfoDto savedBooking = bookingService.update(owner.getId(), booking.getId(), approved);
@@ -398,14 +495,47 @@ class BookingServiceTest {
             assertEquals(savedBooking.getStatus(), BookingStatus.REJECTED);
         }
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
-        Mockito.verify(itemRepository, Mockito.times(1)).findById(item.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
+        Mockito.verify(itemRepository, Mockito.times(1)).findByIdForUpdate(item.getId());
         Mockito.verify(bookingRepository, Mockito.times(1)).findById(booking.getId());
+        Mockito.verify(itemBookingTracker, Mockito.times(1)).refresh(item);
+        Mockito.verify(bookingCalendar, Mockito.times(1)).update(booking);
+    }
+
+    @Test
+    void updateByOverlap() {
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+        Mockito.when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        Mockito.when(bookingRepository.existsApprovedOverlap(item.getId(), booking.getStart(), booking.getEnd(), booking.getId())).thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> {
+            bookingService.update(owner.getId(), booking.getId(), true);
+        });
+
+        assertEquals(BookingStatus.WAITING, booking.getStatus());
+        Mockito.verifyNoInteractions(itemBookingTracker);
+    }
+
+    @Test
+    void updateByConcurrentOverlap() {
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+        Mockito.when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        Mockito.doThrow(new DataIntegrityViolationException("bookings_approved_no_overlap")).when(bookingRepository).flush();
+
+        assertThrows(BookingOverlapException.class, () -> {
+            bookingService.update(owner.getId(), booking.getId(), true);
+        });
+
+        Mockito.verifyNoInteractions(itemBookingTracker);
     }
 
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void updateByNotValidUserId(Long userId) {
+        Mockito.when(userLookup.get(userId)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", userId)));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             bookingService.update(userId, booking.getId(), false);
         });
@@ -418,8 +548,8 @@ class BookingServiceTest {
 
     @Test
     void updateByBooker() {
-        Mockito.when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
-        Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        Mockito.when(userLookup.get(booker.getId())).thenReturn(booker);
+        Mockito.when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
         Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         UserConflictException exception = assertThrows(UserConflictException.class, () -> {
@@ -431,14 +561,14 @@ class BookingServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(booker.getId());
-        Mockito.verify(itemRepository, Mockito.times(1)).findById(item.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(booker.getId());
+        Mockito.verify(itemRepository, Mockito.times(1)).findByIdForUpdate(item.getId());
         Mockito.verify(bookingRepository, Mockito.times(1)).findById(booking.getId());
     }
 
     @Test
     void updateByNotValidItemId() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
@@ -450,13 +580,13 @@ class BookingServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
         Mockito.verify(bookingRepository, Mockito.times(1)).findById(booking.getId());
     }
 
     @Test
     void updateByNotValidId() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             bookingService.update(owner.getId(), booking.getId(), false);
@@ -467,22 +597,28 @@ class BookingServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
     }
 
     @Test
     void deleteById() {
-        Mockito.when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        Mockito.when(userLookup.get(booker.getId())).thenReturn(booker);
         Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
+        Mockito.when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
 
         bookingService.deleteById(booker.getId(), booking.getId());
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(booker.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(booker.getId());
         Mockito.verify(bookingRepository, Mockito.times(1)).findById(booking.getId());
+        Mockito.verify(itemRepository, Mockito.times(1)).findByIdForUpdate(item.getId());
+        Mockito.verify(itemBookingTracker, Mockito.times(1)).refresh(item);
+        Mockito.verify(bookingCalendar, Mockito.times(1)).remove(item.getId(), booking.getId());
     }
 
     @Test
     void deleteByNotValidUserId() {
+        Mockito.when(userLookup.get(booker.getId())).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", booker.getId())));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             bookingService.deleteById(booker.getId(), booking.getId());
         });
@@ -495,7 +631,7 @@ class BookingServiceTest {
 
     @Test
     void deleteByNotValidId() {
-        Mockito.when(userRepository.findById(booker.getId())).thenReturn(Optional.of(booker));
+        Mockito.when(userLookup.get(booker.getId())).thenReturn(booker);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             bookingService.deleteById(booker.getId(), booking.getId());
@@ -506,13 +642,13 @@ class BookingServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(booker.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(booker.getId());
     }
 
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void deleteByOtherUserNotValidUserId(Long userId) {
-        Mockito.when(userRepository.findById(userId)).thenReturn(Optional.of(new User()));
+        Mockito.when(userLookup.get(userId)).thenReturn(new User());
         Mockito.when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(booking));
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
@@ -524,7 +660,7 @@ class BookingServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(userId);
+        Mockito.verify(userLookup, Mockito.times(1)).get(userId);
         Mockito.verify(bookingRepository, Mockito.times(1)).findById(booking.getId());
     }
 }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.item;
 
 import java.util.Set;
+import java.util.List;
+import org.junit.jupiter.api.Test;
 import java.time.LocalDateTime;
 import java.util.stream.Stream;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -9,6 +11,8 @@ import org.junit.jupiter.params.provider.Arguments;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
+import ru.practicum.shareit.booking.calendar.BookingInterval;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -34,6 +38,38 @@ class ItemMapperTest {
     private static final Booking NEXT_BOOKING = new Booking(2L, LocalDateTime.now(), LocalDateTime.now().plusDays(5),
             BookingStatus.WAITING, ITEM, new User(4L, "Nik", "nik@mail.ru"));
 
+    @Test
+    void toAvailabilityDto() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        List<BookingInterval> busy = List.of(
+                new BookingInterval(1L, from.minusDays(1), from.plusDays(1)),
+                new BookingInterval(2L, from.plusDays(3), from.plusDays(4)),
+                new BookingInterval(3L, from.plusDays(9), to.plusDays(1))
+        );
+
+        AvailabilityDto dto = ItemMapper.toAvailabilityDto(ITEM.getId(), from, to, busy);
+
+        assertEquals(3, dto.getBusy().size());
+        assertEquals(2, dto.getFree().size());
+        assertEquals(from.plusDays(1), dto.getFree().get(0).getStart());
+        assertEquals(from.plusDays(3), dto.getFree().get(0).getEnd());
+        assertEquals(from.plusDays(4), dto.getFree().get(1).getStart());
+        assertEquals(from.plusDays(9), dto.getFree().get(1).getEnd());
+    }
+
+    @Test
+    void toAvailabilityDtoByEmptyCalendar() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        AvailabilityDto dto = ItemMapper.toAvailabilityDto(ITEM.getId(), from, from.plusDays(1), List.of());
+
+        assertEquals(0, dto.getBusy().size());
+        assertEquals(1, dto.getFree().size());
+        assertEquals(from, dto.getFree().get(0).getStart());
+        assertEquals(from.plusDays(1), dto.getFree().get(0).getEnd());
+    }
+
     @ParameterizedTest
     @MethodSource("getRequest")
     void toItemDtoByRequest(ItemRequest request) {
@@ -5,12 +5,16 @@ import java.time.LocalDateTime;
 import org.mockito.Mockito;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.CommentMapper;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentInfoDto;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.IntervalDto;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -43,6 +47,8 @@ class ItemControllerTest {
     private Gson gson;
     @Autowired
     private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper mapper;
     @MockBean
     private ItemService itemService;
 
@@ -110,7 +116,7 @@ class ItemControllerTest {
     @DisplayName("Send GET request /items/search?text={text}")
     void findAllByText() throws Exception {
         final String text = "Drill";
-        Mockito.when(itemService.findAllByText(owner.getId(), text)).thenReturn(List.of(dto));
+        Mockito.when(itemService.findAllByText(owner.getId(), text, null, null, 0, 10)).thenReturn(List.of(dto));
 
         this.mockMvc.perform(MockMvcRequestBuilders
                         .get("/items/search?text={text}", text)
@@ -118,7 +124,39 @@ class ItemControllerTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk());
 
-        Mockito.verify(itemService, Mockito.times(1)).findAllByText(owner.getId(), text);
+        Mockito.verify(itemService, Mockito.times(1)).findAllByText(owner.getId(), text, null, null, 0, 10);
+    }
+
+    @Test
+    @DisplayName("Send GET request /items/{id}/availability?from={from}&to={to}")
+    void findAvailability() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+        AvailabilityDto availability = new AvailabilityDto(item.getId(), from, to, List.of(),
+                List.of(new IntervalDto(from, to)));
+        Mockito.when(itemService.findAvailability(owner.getId(), item.getId(), from, to)).thenReturn(availability);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/items/{id}/availability?from={from}&to={to}", item.getId(), from, to)
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.free").isArray());
+
+        Mockito.verify(itemService, Mockito.times(1)).findAvailability(owner.getId(), item.getId(), from, to);
+    }
+
+    @Test
+    @DisplayName("Send GET request /items/{id}/availability")
+    void findAvailabilityByDefaultWindow() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/items/{id}/availability", item.getId())
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        Mockito.verify(itemService, Mockito.times(1)).findAvailability(Mockito.eq(owner.getId()), Mockito.eq(item.getId()),
+                Mockito.any(), Mockito.any());
     }
 
     @Test
@@ -136,6 +174,59 @@ class ItemControllerTest {
         Mockito.verify(itemService, Mockito.times(1)).findAll(owner.getId());
     }
 
+    @Test
+    @DisplayName("Send GET request /items?ids={ids}")
+    void findAllByIds() throws Exception {
+        Mockito.when(itemService.findAllByIds(owner.getId(), List.of(1L, 2L))).thenReturn(List.of(dto));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/items?ids={ids}", "1,2")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").isNumber());
+
+        Mockito.verify(itemService, Mockito.times(1)).findAllByIds(owner.getId(), List.of(1L, 2L));
+        Mockito.verify(itemService, Mockito.never()).findAll(Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("Send POST request /items/batch")
+    void saveAll() throws Exception {
+        Mockito.when(itemService.saveAll(Mockito.anyList(), Mockito.anyLong())).thenReturn(List.of(
+                ItemBatchResultDto.builder().index(0).item(dto).build(),
+                ItemBatchResultDto.builder().index(1).error("Item request with id=99 not found!").build()));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post("/items/batch")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(dto, dto))))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].item.id").isNumber())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].error").value("Item request with id=99 not found!"));
+
+        Mockito.verify(itemService, Mockito.times(1)).saveAll(Mockito.argThat(items -> items.size() == 2), Mockito.eq(owner.getId()));
+    }
+
+    @Test
+    @DisplayName("Send PATCH request /items/batch")
+    void updateAll() throws Exception {
+        Mockito.when(itemService.updateAll(Mockito.anyList(), Mockito.anyLong())).thenReturn(List.of(
+                ItemBatchResultDto.builder().index(0).item(dto).build()));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .patch("/items/batch")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(List.of(dto))))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].item.id").isNumber());
+
+        Mockito.verify(itemService, Mockito.times(1)).updateAll(Mockito.anyList(), Mockito.eq(owner.getId()));
+        Mockito.verify(itemService, Mockito.never()).update(Mockito.any(), Mockito.anyLong(), Mockito.anyLong());
+    }
+
     @Test
     @DisplayName("Send POST request /items")
     void save() throws Exception {
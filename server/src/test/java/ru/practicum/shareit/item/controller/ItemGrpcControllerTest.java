@@ -0,0 +1,111 @@
+package ru.practicum.shareit.item.controller;
+
+import java.util.List;
+import java.time.LocalDateTime;
+import io.grpc.Server;
+import io.grpc.ManagedChannel;
+import io.grpc.ServerInterceptors;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ru.practicum.shareit.grpc.ItemList;
+import ru.practicum.shareit.grpc.ItemMessage;
+import ru.practicum.shareit.grpc.ItemsRequest;
+import ru.practicum.shareit.grpc.SearchItemsRequest;
+import ru.practicum.shareit.grpc.AvailabilityRequest;
+import ru.practicum.shareit.grpc.AvailabilityMessage;
+import ru.practicum.shareit.grpc.ItemBatchResultList;
+import ru.practicum.shareit.grpc.ItemServiceGrpc;
+import ru.practicum.shareit.item.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.exception.GrpcErrorInterceptor;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemGrpcControllerTest {
+    private ItemDto dto;
+    private Server server;
+    private ManagedChannel channel;
+    private ItemServiceGrpc.ItemServiceBlockingStub stub;
+    @Mock
+    private ItemService itemService;
+
+    @BeforeEach
+    void init() throws Exception {
+        dto = ItemDto.builder()
+                .id(1L)
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .build();
+        final String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(new ItemGrpcController(itemService), new GrpcErrorInterceptor()))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name)
+                .directExecutor()
+                .build();
+        stub = ItemServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+        dto = null;
+    }
+
+    @Test
+    @DisplayName("Send grpc request ItemService/FindAllByText with blank text")
+    void findAllByBlankText() {
+        ItemList items = stub.findAllByText(SearchItemsRequest.newBuilder().setUserId(1L).setText(" ").setSize(10).build());
+
+        assertEquals(0, items.getItemsCount());
+        Mockito.verifyNoInteractions(itemService);
+    }
+
+    @Test
+    @DisplayName("Send grpc request ItemService/FindAvailability with default window")
+    void findAvailability() {
+        final LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        final LocalDateTime to = from.plusDays(ItemController.DEFAULT_WINDOW_DAYS);
+        Mockito.when(itemService.findAvailability(1L, dto.getId(), from, to))
+                .thenReturn(ItemMapper.toAvailabilityDto(dto.getId(), from, to, List.of()));
+
+        AvailabilityMessage message = stub.findAvailability(AvailabilityRequest.newBuilder()
+                .setUserId(1L)
+                .setId(dto.getId())
+                .setFrom("2030-01-01T00:00:00")
+                .build());
+
+        assertEquals(message.getItemId(), dto.getId());
+        assertEquals(1, message.getFreeCount());
+        assertEquals("2030-01-31T00:00:00", message.getTo());
+    }
+
+    @Test
+    @DisplayName("Send grpc request ItemService/SaveAll")
+    void saveAll() {
+        Mockito.when(itemService.saveAll(Mockito.anyList(), Mockito.eq(1L)))
+                .thenReturn(List.of(ItemBatchResultDto.builder().index(0).item(dto).build()));
+
+        ItemBatchResultList results = stub.saveAll(ItemsRequest.newBuilder()
+                .setUserId(1L)
+                .addItems(ItemMessage.newBuilder().setName(dto.getName()).setDescription(dto.getDescription()).setAvailable(true))
+                .build());
+
+        assertEquals(1, results.getResultsCount());
+        assertEquals(results.getResults(0).getItem().getId(), dto.getId());
+        assertFalse(results.getResults(0).hasError());
+    }
+}
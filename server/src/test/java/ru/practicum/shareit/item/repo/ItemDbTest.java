@@ -17,6 +17,7 @@ import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -103,7 +104,7 @@ public class ItemDbTest {
                 .setParameter("text", text)
                 .getResultList();
 
-        List<ItemDto> items = itemService.findAllByText(owner.getId(), text);
+        List<ItemDto> items = itemService.findAllByText(owner.getId(), text, null, null, 0, 10);
 
         assertThat(result.size()).isEqualTo(items.size());
     }
@@ -151,6 +152,64 @@ public class ItemDbTest {
         assertThat(newItem.getRequest()).isNotNull();
     }
 
+    @Test
+    void saveAll() {
+        ItemDto dto = makeItem(item);
+        ItemDto saw = ItemDto.builder().name("Saw").description("Saw 2000").available(true).build();
+        ItemDto unknownRequest = ItemDto.builder().name("Axe").description("Axe 2000").available(true).requestId(999L).build();
+
+        List<ItemBatchResultDto> results = itemService.saveAll(List.of(saw, unknownRequest, ItemMapper.toItemDto(item, request)), owner.getId());
+        em.flush();
+        TypedQuery<Item> query = em.createQuery("select i from Item as i where i.owner.id = :id", Item.class);
+        List<Item> items = query
+                .setParameter("id", owner.getId())
+                .getResultList();
+
+        assertThat(results.size()).isEqualTo(3);
+        assertThat(results.get(0).getItem().getId()).isNotNull();
+        assertThat(results.get(0).getItem().getName()).isEqualTo(saw.getName());
+        assertThat(results.get(1).getItem()).isNull();
+        assertThat(results.get(1).getError()).isEqualTo("Item request with id=999 not found!");
+        assertThat(results.get(2).getItem().getRequestId()).isEqualTo(request.getId());
+        assertThat(items.size()).isEqualTo(3);
+        assertThat(dto.getId()).isNotNull();
+    }
+
+    @Test
+    void saveAllWithForeignItemId() {
+        ItemDto dto = makeItem(item);
+        UserDto other = userService.save(new UserDto(null, "Ann", "ann@mail.ru"));
+        ItemDto foreign = ItemDto.builder().id(dto.getId()).name("Saw").description("Saw 2000").available(true).build();
+
+        List<ItemBatchResultDto> results = itemService.saveAll(List.of(foreign), other.getId());
+        em.flush();
+        em.clear();
+        Item ownerItem = em.find(Item.class, dto.getId());
+
+        assertThat(results.get(0).getItem().getId()).isNotEqualTo(dto.getId());
+        assertThat(ownerItem.getName()).isEqualTo(dto.getName());
+        assertThat(ownerItem.getOwner().getId()).isEqualTo(owner.getId());
+        assertThat(ownerItem.getRequest().getId()).isEqualTo(request.getId());
+    }
+
+    @Test
+    void updateAll() {
+        ItemDto dto = makeItem(item);
+        ItemDto saw = ItemDto.builder().id(dto.getId()).name("Saw").build();
+        ItemDto unknown = ItemDto.builder().id(999L).name("Axe").build();
+
+        List<ItemBatchResultDto> results = itemService.updateAll(List.of(saw, unknown), owner.getId());
+        em.flush();
+        em.clear();
+        item = em.find(Item.class, dto.getId());
+
+        assertThat(results.size()).isEqualTo(2);
+        assertThat(results.get(0).getItem().getName()).isEqualTo("Saw");
+        assertThat(results.get(0).getItem().getDescription()).isEqualTo(dto.getDescription());
+        assertThat(results.get(1).getError()).isEqualTo("Item with id=999 not found!");
+        assertThat(item.getName()).isEqualTo("Saw");
+    }
+
     @Test
     void deleteById() {
         ItemDto dto = makeItem(item);
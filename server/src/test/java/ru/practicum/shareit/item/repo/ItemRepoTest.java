@@ -3,6 +3,9 @@ package ru.practicum.shareit.item.repo;
 import java.util.Set;
 import java.util.List;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.MyPageRequest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +15,8 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
@@ -70,6 +75,15 @@ public class ItemRepoTest {
         assertEquals(1, items.size());
     }
 
+    @Test
+    void findAllByIdIn() {
+        List<Item> items = itemRepository.findAllByIdIn(List.of(item.getId(), Long.MAX_VALUE));
+
+        assertNotNull(item.getId());
+        assertEquals(1, items.size());
+        assertEquals(item.getId(), items.get(0).getId());
+    }
+
     @Test
     void findAllByRequestId() {
         Set<Item> items = itemRepository.findAllByRequestId(request.getId());
@@ -83,7 +97,7 @@ public class ItemRepoTest {
 
     @Test
     void findAllByText() {
-        List<Item> items = itemRepository.findAllByText("Drill");
+        List<Item> items = itemRepository.findAllByText("Drill", new MyPageRequest(0, 10, Sort.unsorted()));
 
         assertNotNull(owner.getId());
         assertNotNull(requestor.getId());
@@ -92,6 +106,40 @@ public class ItemRepoTest {
         assertEquals(1, items.size());
     }
 
+    @Test
+    void findAllByTextNameMatchFirst() {
+        Item saw = Item.builder()
+                .name("Saw 2000")
+                .description("Hand saw")
+                .available(true)
+                .owner(owner)
+                .build();
+        em.persist(saw);
+
+        List<Item> items = itemRepository.findAllByText("2000", new MyPageRequest(0, 10, Sort.unsorted()));
+        List<Item> page = itemRepository.findAllByText("2000", new MyPageRequest(1, 1, Sort.unsorted()));
+
+        assertEquals(List.of(saw, item), items);
+        assertEquals(List.of(item), page);
+        em.remove(saw);
+    }
+
+    @Test
+    void findAllByTextAndFree() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        Booking booking = new Booking(null, start, start.plusDays(2), BookingStatus.APPROVED, item, requestor);
+        em.persist(booking);
+
+        List<Item> busy = itemRepository.findAllByTextAndFree("Drill", start.plusDays(1), start.plusDays(3),
+                new MyPageRequest(0, 10, Sort.unsorted()));
+        List<Item> free = itemRepository.findAllByTextAndFree("Drill", start.plusDays(2), start.plusDays(3),
+                new MyPageRequest(0, 10, Sort.unsorted()));
+
+        assertEquals(0, busy.size());
+        assertEquals(List.of(item), free);
+        em.remove(booking);
+    }
+
     @Test
     void findItemByRequestIn() {
         Set<Item> items = itemRepository.findItemByRequestIn(List.of(request));
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.item.search;
+
+import org.mockito.*;
+import java.util.Set;
+import java.util.List;
+import java.util.HashSet;
+import java.util.stream.LongStream;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.MyPageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import static org.junit.jupiter.api.Assertions.*;
+import static java.util.stream.Collectors.toList;
+import static ru.practicum.shareit.item.search.InMemoryItemSearchEngine.WINDOW_CHUNK;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+    private static final MyPageRequest PAGE = new MyPageRequest(0, 10, Sort.unsorted());
+    private Item drill;
+    private Item saw;
+    private Item hammer;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @InjectMocks
+    private InMemoryItemSearchEngine engine;
+
+    @BeforeEach
+    void init() {
+        drill = Item.builder().id(1L).name("Drill").description("Drill 2000 MaxPro").available(true).build();
+        saw = Item.builder().id(2L).name("Saw 2000").description("Hand saw").available(true).build();
+        hammer = Item.builder().id(3L).name("Hammer").description("Heavy hammer for drill bits").available(false).build();
+        Mockito.when(itemRepository.findAll()).thenReturn(List.of(drill, saw, hammer));
+        engine.rebuild();
+    }
+
+    @Test
+    void findAllByText() {
+        List<Item> items = engine.findAllByText("DRILL", PAGE);
+
+        assertEquals(1, items.size());
+        assertEquals(drill.getId(), items.get(0).getId());
+    }
+
+    @Test
+    void findAllByTextSubstring() {
+        assertEquals(1, engine.findAllByText("rill", PAGE).size());
+        assertEquals(1, engine.findAllByText("0 MAX", PAGE).size());
+        assertEquals(1, engine.findAllByText("ll", PAGE).size());
+        assertEquals(0, engine.findAllByText("dri max", PAGE).size());
+        assertEquals(0, engine.findAllByText("drill saw", PAGE).size());
+    }
+
+    @Test
+    void findAllByTextNameMatchFirst() {
+        List<Item> items = engine.findAllByText("2000", PAGE);
+        List<Item> page = engine.findAllByText("2000", new MyPageRequest(1, 1, Sort.unsorted()));
+
+        assertEquals(2, items.size());
+        assertEquals(saw.getId(), items.get(0).getId());
+        assertEquals(drill.getId(), items.get(1).getId());
+        assertEquals(1, page.size());
+        assertEquals(drill.getId(), page.get(0).getId());
+    }
+
+    @Test
+    void index() {
+        drill.setName("Screwdriver");
+        drill.setDescription("Cordless");
+        engine.index(drill);
+        hammer.setAvailable(true);
+        engine.index(hammer);
+
+        assertEquals(0, engine.findAllByText("maxpro", PAGE).size());
+        assertEquals(1, engine.findAllByText("cordless", PAGE).size());
+        assertEquals(1, engine.findAllByText("hammer", PAGE).size());
+    }
+
+    @Test
+    void remove() {
+        engine.remove(saw.getId());
+
+        assertEquals(1, engine.findAllByText("2000", PAGE).size());
+        assertEquals(0, engine.findAllByText("saw", PAGE).size());
+    }
+
+    @Test
+    void rebuildKeepsChangesCommittedWhileLoading() {
+        Item stale = Item.builder().id(1L).name("Drill").description("Drill 2000 MaxPro").available(true).build();
+        Mockito.when(itemRepository.findAll()).thenAnswer(invocation -> {
+            drill.setName("Screwdriver");
+            engine.index(drill);
+            engine.remove(saw.getId());
+            assertEquals(1, engine.findAllByText("drill", PAGE).size());
+            return List.of(stale, saw, hammer);
+        });
+
+        engine.rebuild();
+
+        assertEquals(0, engine.findAllByText("saw", PAGE).size());
+        assertEquals(1, engine.findAllByText("screwdriver", PAGE).size());
+        assertEquals(1, engine.findAllByText("maxpro", PAGE).size());
+    }
+
+    @Test
+    void findAllByTextAndFree() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(1);
+        Mockito.when(bookingRepository.findItemIdsWithApprovedOverlap(List.of(saw.getId(), drill.getId()), start, end))
+                .thenReturn(Set.of(saw.getId()));
+
+        List<Item> items = engine.findAllByTextAndFree("2000", start, end, PAGE);
+
+        assertEquals(1, items.size());
+        assertEquals(drill.getId(), items.get(0).getId());
+    }
+
+    @Test
+    void findAllByTextAndFreeInChunks() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(1);
+        Mockito.when(itemRepository.findAll()).thenReturn(LongStream.rangeClosed(1, 3L * WINDOW_CHUNK)
+                .mapToObj(id -> Item.builder().id(id).name("Tool " + id).description("Tool").available(true).build())
+                .collect(toList()));
+        engine.rebuild();
+        Mockito.when(bookingRepository.findItemIdsWithApprovedOverlap(Mockito.anyList(), Mockito.eq(start), Mockito.eq(end)))
+                .thenAnswer(invocation -> {
+                    List<Long> ids = invocation.getArgument(0);
+                    return ids.contains(1L) ? new HashSet<>(ids) : Set.of();
+                });
+
+        List<Item> items = engine.findAllByTextAndFree("to", start, end, new MyPageRequest(5, 10, Sort.unsorted()));
+
+        assertEquals(10, items.size());
+        assertEquals(WINDOW_CHUNK + 6L, items.get(0).getId());
+        Mockito.verify(bookingRepository, Mockito.times(2)).findItemIdsWithApprovedOverlap(
+                Mockito.argThat(ids -> ids.size() == WINDOW_CHUNK), Mockito.eq(start), Mockito.eq(end));
+    }
+}
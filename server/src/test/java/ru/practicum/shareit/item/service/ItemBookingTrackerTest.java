@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item.service;
+
+import org.mockito.*;
+import java.util.List;
+import java.util.Optional;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repo.BookingRepository;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBookingTrackerTest {
+    private Item item;
+    private Booking lastBooking;
+    private Booking nextBooking;
+    @Mock
+    private ItemRepository itemRepository;
+    @Mock
+    private BookingRepository bookingRepository;
+    @InjectMocks
+    private ItemBookingTracker itemBookingTracker;
+
+    @BeforeEach
+    void init() {
+        User owner = new User(1L, "Nikolas", "nik@mail.ru");
+        User booker = new User(2L, "Djon", "djon@mail.ru");
+        item = Item.builder().id(1L).name("Drill").description("Drill 2000 MaxPro").available(true).owner(owner).build();
+        lastBooking = new Booking(1L, LocalDateTime.now().minusDays(2), LocalDateTime.now().minusDays(1), BookingStatus.APPROVED, item, booker);
+        nextBooking = new Booking(2L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), BookingStatus.APPROVED, item, booker);
+    }
+
+    @Test
+    void refresh() {
+        Mockito.when(bookingRepository.findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDesc(
+                Mockito.eq(item.getId()), Mockito.eq(BookingStatus.APPROVED), Mockito.any())).thenReturn(Optional.of(lastBooking));
+        Mockito.when(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                Mockito.eq(item.getId()), Mockito.eq(BookingStatus.APPROVED), Mockito.any())).thenReturn(Optional.of(nextBooking));
+
+        itemBookingTracker.refresh(item);
+
+        assertEquals(lastBooking, item.getLastBooking());
+        assertEquals(nextBooking, item.getNextBooking());
+    }
+
+    @Test
+    void rollForward() {
+        item.setLastBooking(lastBooking);
+        item.setNextBooking(nextBooking);
+        Mockito.when(itemRepository.findAllByNextBookingStartLessThanEqual(Mockito.any())).thenReturn(List.of(item));
+        Mockito.when(bookingRepository.findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDesc(
+                Mockito.eq(item.getId()), Mockito.eq(BookingStatus.APPROVED), Mockito.any())).thenReturn(Optional.of(nextBooking));
+        Mockito.when(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                Mockito.eq(item.getId()), Mockito.eq(BookingStatus.APPROVED), Mockito.any())).thenReturn(Optional.empty());
+
+        itemBookingTracker.rollForward();
+
+        assertEquals(nextBooking, item.getLastBooking());
+        assertNull(item.getNextBooking());
+    }
+
+    @Test
+    void current() {
+        item.setLastBooking(lastBooking);
+        item.setNextBooking(nextBooking);
+
+        ItemBookingTracker.Pointers pointers = itemBookingTracker.current(item);
+
+        assertEquals(lastBooking, pointers.getLastBooking());
+        assertEquals(nextBooking, pointers.getNextBooking());
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void currentWithStartedNextBooking() {
+        nextBooking.setStart(LocalDateTime.now().minusMinutes(1));
+        item.setLastBooking(lastBooking);
+        item.setNextBooking(nextBooking);
+        Mockito.when(bookingRepository.findFirstByItemIdAndStatusAndStartLessThanEqualOrderByStartDesc(
+                Mockito.eq(item.getId()), Mockito.eq(BookingStatus.APPROVED), Mockito.any())).thenReturn(Optional.of(nextBooking));
+        Mockito.when(bookingRepository.findFirstByItemIdAndStatusAndStartAfterOrderByStartAsc(
+                Mockito.eq(item.getId()), Mockito.eq(BookingStatus.APPROVED), Mockito.any())).thenReturn(Optional.empty());
+
+        ItemBookingTracker.Pointers pointers = itemBookingTracker.current(item);
+
+        assertEquals(nextBooking, pointers.getLastBooking());
+        assertNull(pointers.getNextBooking());
+        assertEquals(nextBooking, item.getNextBooking());
+    }
+}
@@ -2,8 +2,11 @@ package ru.practicum.shareit.item.service;
 
 import org.mockito.*;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 import java.time.LocalDateTime;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.MyPageRequest;
 import java.util.stream.Stream;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.Test;
@@ -15,11 +18,16 @@ import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserLookup;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.AvailabilityDto;
+import ru.practicum.shareit.booking.calendar.BookingCalendar;
+import ru.practicum.shareit.booking.calendar.BookingInterval;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.repo.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.CommentMapper;
@@ -50,7 +58,7 @@ class ItemServiceTest {
     private static final Booking NEXT_BOOKING = new Booking(2L, LocalDateTime.now().plusDays(2),
             LocalDateTime.now().plusDays(5), BookingStatus.WAITING, Item.builder().id(1L).build(), BOOKER);
     @Mock
-    private UserRepository userRepository;
+    private UserLookup userLookup;
     @Mock
     private ItemRepository itemRepository;
     @Mock
@@ -59,6 +67,12 @@ class ItemServiceTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository requestRepository;
+    @Mock
+    private ItemSearchEngine itemSearchEngine;
+    @Mock
+    private BookingCalendar bookingCalendar;
+    @Mock(answer = Answers.CALLS_REAL_METHODS)
+    private ItemBookingTracker itemBookingTracker;
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -90,10 +104,10 @@ class ItemServiceTest {
     @ParameterizedTest
     @MethodSource("getBookings")
     void findById(Booking lastBooking, Booking nextBooking) {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
-        Mockito.when(bookingRepository.findAllByItemOwnerId(owner.getId()))
-                .thenReturn(lastBooking == null || nextBooking == null ? List.of() : List.of(lastBooking, nextBooking));
+        item.setLastBooking(lastBooking);
+        item.setNextBooking(nextBooking);
 
         ItemDto dto = itemService.findById(owner.getId(), item.getId());
 
@@ -118,14 +132,51 @@ class ItemServiceTest {
             });
         }
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
         Mockito.verify(itemRepository, Mockito.times(1)).findById(item.getId());
-        Mockito.verify(bookingRepository, Mockito.times(1)).findAllByItemOwnerId(owner.getId());
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void findByIdWithStartedNextBooking() {
+        Booking started = new Booking(4L, LocalDateTime.now().minusHours(1), LocalDateTime.now().plusDays(1),
+                BookingStatus.APPROVED, item, BOOKER);
+        Booking upcoming = new Booking(5L, LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4),
+                BookingStatus.APPROVED, item, BOOKER);
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+        Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        Mockito.doReturn(new ItemBookingTracker.Pointers(started, upcoming))
+                .when(itemBookingTracker).lookup(Mockito.eq(item.getId()), Mockito.any());
+        item.setLastBooking(LAST_BOOKING);
+        item.setNextBooking(started);
+
+        ItemDto dto = itemService.findById(owner.getId(), item.getId());
+
+        assertEquals(started.getId(), dto.getLastBooking().getId());
+        assertEquals(upcoming.getId(), dto.getNextBooking().getId());
+        assertEquals(started, item.getNextBooking());
+    }
+
+    @Test
+    void findByIdByNotOwner() {
+        Mockito.when(userLookup.get(requestor.getId())).thenReturn(requestor);
+        Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        item.setLastBooking(LAST_BOOKING);
+        item.setNextBooking(NEXT_BOOKING);
+
+        ItemDto dto = itemService.findById(requestor.getId(), item.getId());
+
+        assertNull(dto.getLastBooking());
+        assertNull(dto.getNextBooking());
+
+        Mockito.verifyNoInteractions(bookingRepository);
     }
 
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void findByNotValidUserId(Long userId) {
+        Mockito.when(userLookup.get(userId)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", userId)));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             itemService.findById(userId, item.getId());
         });
@@ -139,7 +190,7 @@ class ItemServiceTest {
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void findByNotValidId(Long id) {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             itemService.findById(owner.getId(), id);
@@ -150,16 +201,17 @@ class ItemServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
     }
 
     @ParameterizedTest
     @ValueSource(strings = {" ", "", "Turbo drill", "DRILL", "2000"})
     void findAllByText(String text) {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        Mockito.when(itemRepository.findAllByText(text)).thenReturn(text.isBlank() ? List.of() : List.of(item));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+        MyPageRequest pageRequest = new MyPageRequest(0, 10, Sort.unsorted());
+        Mockito.when(itemSearchEngine.findAllByText(text, pageRequest)).thenReturn(text.isBlank() ? List.of() : List.of(item));
 
-        List<ItemDto> items = itemService.findAllByText(owner.getId(), text);
+        List<ItemDto> items = itemService.findAllByText(owner.getId(), text, null, null, 0, 10);
 
         if (text.isBlank()) {
             assertEquals(0, items.size());
@@ -167,14 +219,47 @@ class ItemServiceTest {
             assertEquals(1, items.size());
         }
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
-        Mockito.verify(itemRepository, Mockito.times(1)).findAllByText(text);
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
+        Mockito.verify(itemSearchEngine, Mockito.times(1)).findAllByText(text, pageRequest);
+    }
+
+    @Test
+    void findAllByTextAndFree() {
+        LocalDateTime start = LocalDateTime.now();
+        LocalDateTime end = start.plusDays(1);
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+        MyPageRequest pageRequest = new MyPageRequest(0, 10, Sort.unsorted());
+        Mockito.when(itemSearchEngine.findAllByTextAndFree("Drill", start, end, pageRequest)).thenReturn(List.of(item));
+
+        List<ItemDto> items = itemService.findAllByText(owner.getId(), "Drill", start, end, 0, 10);
+
+        assertEquals(1, items.size());
+
+        Mockito.verify(itemSearchEngine, Mockito.times(1)).findAllByTextAndFree("Drill", start, end, pageRequest);
+        Mockito.verify(itemSearchEngine, Mockito.never()).findAllByText("Drill", pageRequest);
+    }
+
+    @Test
+    void findAllByTextNotValidWindow() {
+        LocalDateTime start = LocalDateTime.now();
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            itemService.findAllByText(owner.getId(), "Drill", start, null, 0, 10);
+        });
+        assertThrows(IllegalArgumentException.class, () -> {
+            itemService.findAllByText(owner.getId(), "Drill", start, start, 0, 10);
+        });
+
+        Mockito.verifyNoInteractions(itemSearchEngine);
     }
 
     @Test
     void findAllTextByNotValidUserId() {
+        Mockito.when(userLookup.get(366L)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", 366L)));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
-            itemService.findAllByText(366L, "Drill");
+            itemService.findAllByText(366L, "Drill", null, null, 0, 10);
         });
 
         String expectedMessage = exception.getMessage();
@@ -183,21 +268,92 @@ class ItemServiceTest {
         assertEquals(expectedMessage, actualMessage);
     }
 
+    @Test
+    void findAvailability() {
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusDays(10);
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+        Mockito.when(bookingCalendar.findBusy(item.getId(), from, to))
+                .thenReturn(List.of(new BookingInterval(1L, from.plusDays(1), from.plusDays(2))));
+
+        AvailabilityDto dto = itemService.findAvailability(owner.getId(), item.getId(), from, to);
+
+        assertEquals(item.getId(), dto.getItemId());
+        assertEquals(1, dto.getBusy().size());
+        assertEquals(2, dto.getFree().size());
+
+        Mockito.verify(bookingCalendar, Mockito.times(1)).findBusy(item.getId(), from, to);
+    }
+
+    @Test
+    void findAvailabilityByNotValidWindow() {
+        LocalDateTime from = LocalDateTime.now();
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+
+        assertThrows(IllegalArgumentException.class, () -> {
+            itemService.findAvailability(owner.getId(), item.getId(), from, from);
+        });
+
+        Mockito.verifyNoInteractions(bookingCalendar);
+    }
+
     @Test
     void findAll() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(itemRepository.findAllByOwnerId(owner.getId())).thenReturn(List.of(item));
+        item.setLastBooking(LAST_BOOKING);
+        item.setNextBooking(NEXT_BOOKING);
 
         List<ItemDto> items = itemService.findAll(owner.getId());
 
         assertEquals(items.size(), 1);
+        assertEquals(items.get(0).getLastBooking().getId(), LAST_BOOKING.getId());
+        assertEquals(items.get(0).getNextBooking().getId(), NEXT_BOOKING.getId());
+
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
+        Mockito.verify(itemRepository, Mockito.times(1)).findAllByOwnerId(owner.getId());
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void findAllByIds() {
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+        Mockito.when(itemRepository.findAllByIdIn(List.of(item.getId(), 99L))).thenReturn(List.of(item));
+        Mockito.when(commentRepository.findByItemIn(Mockito.anyList(), Mockito.any(Sort.class))).thenReturn(Set.of(comment));
+        item.setLastBooking(LAST_BOOKING);
+        item.setNextBooking(NEXT_BOOKING);
+
+        List<ItemDto> items = itemService.findAllByIds(owner.getId(), List.of(item.getId(), 99L));
+
+        assertEquals(items.size(), 1);
+        assertEquals(items.get(0).getId(), item.getId());
+        assertEquals(items.get(0).getComments().size(), 1);
+        assertEquals(items.get(0).getLastBooking().getId(), LAST_BOOKING.getId());
+        assertEquals(items.get(0).getNextBooking().getId(), NEXT_BOOKING.getId());
+
+        Mockito.verify(itemRepository, Mockito.times(1)).findAllByIdIn(List.of(item.getId(), 99L));
+        Mockito.verify(commentRepository, Mockito.times(1)).findByItemIn(Mockito.anyList(), Mockito.any(Sort.class));
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
-        Mockito.verify(itemRepository, Mockito.times(2)).findAllByOwnerId(owner.getId());
+    @Test
+    void findAllByIdsWithoutBookingsForNotOwner() {
+        Mockito.when(userLookup.get(requestor.getId())).thenReturn(requestor);
+        Mockito.when(itemRepository.findAllByIdIn(List.of(item.getId()))).thenReturn(List.of(item));
+        item.setLastBooking(LAST_BOOKING);
+        item.setNextBooking(NEXT_BOOKING);
+
+        List<ItemDto> items = itemService.findAllByIds(requestor.getId(), List.of(item.getId()));
+
+        assertEquals(items.size(), 1);
+        assertNull(items.get(0).getLastBooking());
+        assertNull(items.get(0).getNextBooking());
     }
 
     @Test
     void findAllByNotValidUserId() {
+        Mockito.when(userLookup.get(owner.getId())).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", owner.getId())));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             itemService.findAll(owner.getId());
         });
@@ -210,7 +366,7 @@ class ItemServiceTest {
 
     @Test
     void save() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(requestRepository.findById(request.getId())).thenReturn(Optional.of(request));
         Mockito.when(itemRepository.save(Mockito.any())).thenReturn(item);
 
@@ -223,13 +379,38 @@ class ItemServiceTest {
                     .isEqualTo(savedDto);
         });
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
         Mockito.verify(requestRepository, Mockito.times(1)).findById(request.getId());
         Mockito.verify(itemRepository, Mockito.times(1)).save(Mockito.any());
+        Mockito.verify(itemSearchEngine, Mockito.times(1)).index(Mockito.any());
+    }
+
+    @Test
+    void saveAll() {
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+        Mockito.when(requestRepository.findAllById(Set.of(request.getId(), 99L))).thenReturn(List.of(request));
+
+        ItemDto dto = ItemMapper.toItemDto(item, request);
+        ItemDto unknownRequest = ItemDto.builder().name("Saw").description("Electric saw").available(true).requestId(99L).build();
+        List<ItemBatchResultDto> results = itemService.saveAll(List.of(dto, unknownRequest), owner.getId());
+
+        assertEquals(results.size(), 2);
+        assertEquals(results.get(0).getIndex(), 0);
+        assertEquals(results.get(0).getItem().getName(), dto.getName());
+        assertEquals(results.get(0).getItem().getRequestId(), request.getId());
+        assertNull(results.get(0).getError());
+        assertNull(results.get(1).getItem());
+        assertEquals(results.get(1).getError(), "Item request with id=99 not found!");
+
+        Mockito.verify(requestRepository, Mockito.times(1)).findAllById(Set.of(request.getId(), 99L));
+        Mockito.verify(itemRepository, Mockito.times(1)).saveAll(Mockito.argThat(items -> items.iterator().hasNext()));
+        Mockito.verify(itemSearchEngine, Mockito.times(1)).index(Mockito.any());
     }
 
     @Test
     void saveByNotValidUserId() {
+        Mockito.when(userLookup.get(owner.getId())).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", owner.getId())));
+
         ItemDto dto = ItemMapper.toItemDto(item, request);
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             itemService.save(dto, owner.getId());
@@ -243,7 +424,7 @@ class ItemServiceTest {
 
     @Test
     void saveByNotValidRequestId() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
 
         ItemDto dto = ItemMapper.toItemDto(item, request);
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
@@ -255,7 +436,7 @@ class ItemServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
     }
 
     @Test
@@ -269,7 +450,7 @@ class ItemServiceTest {
                 .request(request)
                 .build();
 
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
         ItemDto dto = ItemMapper.toItemDto(newItem, request);
@@ -280,12 +461,42 @@ class ItemServiceTest {
         assertEquals(savedItem.getDescription(), newItem.getDescription());
         assertEquals(savedItem.getAvailable(), newItem.getAvailable());
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
         Mockito.verify(itemRepository, Mockito.times(1)).findById(item.getId());
+        Mockito.verify(itemSearchEngine, Mockito.times(1)).index(item);
+    }
+
+    @Test
+    void updateAll() {
+        User other = new User(3L, "Bob", "bob@mail.ru");
+        Item otherItem = item.toBuilder().id(2L).owner(other).build();
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+        Mockito.when(itemRepository.findAllById(Set.of(item.getId(), otherItem.getId(), 99L))).thenReturn(List.of(item, otherItem));
+        Mockito.when(commentRepository.findByItemIn(Mockito.anyList(), Mockito.any(Sort.class))).thenReturn(Set.of(comment));
+
+        List<ItemBatchResultDto> results = itemService.updateAll(List.of(
+                ItemDto.builder().id(item.getId()).name("Saw").available(false).build(),
+                ItemDto.builder().id(otherItem.getId()).name("Axe").build(),
+                ItemDto.builder().id(99L).name("Axe").build(),
+                ItemDto.builder().name("Axe").build()), owner.getId());
+
+        assertEquals(results.size(), 4);
+        assertEquals(results.get(0).getItem().getName(), "Saw");
+        assertEquals(results.get(0).getItem().getAvailable(), false);
+        assertEquals(results.get(0).getItem().getComments().size(), 1);
+        assertEquals(results.get(1).getError(), String.format("User userId=%d is not the owner of the item!", owner.getId()));
+        assertEquals(results.get(2).getError(), "Item with id=99 not found!");
+        assertEquals(results.get(3).getError(), "Item id is required!");
+        assertEquals(otherItem.getName(), "Drill");
+
+        Mockito.verify(itemRepository, Mockito.times(1)).findAllById(Set.of(item.getId(), otherItem.getId(), 99L));
+        Mockito.verify(itemSearchEngine, Mockito.times(1)).index(item);
     }
 
     @Test
     void updateByNotValidUserId() {
+        Mockito.when(userLookup.get(owner.getId())).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", owner.getId())));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             ItemDto dto = ItemMapper.toItemDto(item, request);
             itemService.update(dto, owner.getId(), dto.getId());
@@ -299,7 +510,7 @@ class ItemServiceTest {
 
     @Test
     void updateByNotValidItemId() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             ItemDto dto = ItemMapper.toItemDto(item, request);
@@ -311,7 +522,7 @@ class ItemServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
     }
 
     @Test
@@ -325,7 +536,7 @@ class ItemServiceTest {
                 .request(request)
                 .build();
 
-        Mockito.when(userRepository.findById(requestor.getId())).thenReturn(Optional.of(requestor));
+        Mockito.when(userLookup.get(requestor.getId())).thenReturn(requestor);
         Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
         UserConflictException exception = assertThrows(UserConflictException.class, () -> {
@@ -338,24 +549,28 @@ class ItemServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(requestor.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(requestor.getId());
         Mockito.verify(itemRepository, Mockito.times(1)).findById(item.getId());
     }
 
     @Test
     void deleteById() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
 
         itemService.deleteById(owner.getId(), item.getId());
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
         Mockito.verify(itemRepository, Mockito.times(1)).findById(item.getId());
+        Mockito.verify(itemSearchEngine, Mockito.times(1)).remove(item.getId());
+        Mockito.verify(bookingCalendar, Mockito.times(1)).evict(item.getId());
     }
 
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void deleteByNotValidUserId(Long userId) {
+        Mockito.when(userLookup.get(userId)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", userId)));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             itemService.deleteById(userId, item.getId());
         });
@@ -369,7 +584,7 @@ class ItemServiceTest {
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void deleteByNotValidId(Long id) {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             itemService.deleteById(owner.getId(), id);
@@ -380,12 +595,12 @@ class ItemServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
     }
 
     @Test
     void saveComment() {
-        Mockito.when(userRepository.findById(BOOKER.getId())).thenReturn(Optional.of(BOOKER));
+        Mockito.when(userLookup.get(BOOKER.getId())).thenReturn(BOOKER);
         Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
         Mockito.when(bookingRepository.findAllByItemId(item.getId())).thenReturn(List.of(LAST_BOOKING));
         Mockito.when(commentRepository.save(Mockito.any())).thenReturn(comment);
@@ -399,7 +614,7 @@ class ItemServiceTest {
                     .isEqualTo(savedDto);
         });
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(BOOKER.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(BOOKER.getId());
         Mockito.verify(itemRepository, Mockito.times(1)).findById(item.getId());
         Mockito.verify(bookingRepository, Mockito.times(1)).findAllByItemId(item.getId());
         Mockito.verify(commentRepository, Mockito.times(1)).save(Mockito.any());
@@ -407,6 +622,8 @@ class ItemServiceTest {
 
     @Test
     void saveCommentByNotValidUserId() {
+        Mockito.when(userLookup.get(owner.getId())).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", owner.getId())));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             CommentDto dto = CommentMapper.toCommentDto(comment);
             itemService.saveComment(dto, owner.getId(), item.getId());
@@ -420,7 +637,7 @@ class ItemServiceTest {
 
     @Test
     void saveCommentByNotValidItemId() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             CommentDto dto = CommentMapper.toCommentDto(comment);
@@ -432,12 +649,12 @@ class ItemServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
     }
 
     @Test
     void saveCommentByOwner() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
         Mockito.when(bookingRepository.findAllByItemId(item.getId())).thenReturn(List.of(LAST_BOOKING));
 
@@ -451,7 +668,7 @@ class ItemServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
         Mockito.verify(itemRepository, Mockito.times(1)).findById(item.getId());
         Mockito.verify(bookingRepository, Mockito.times(1)).findAllByItemId(item.getId());
     }
@@ -103,6 +103,22 @@ class ItemRequestControllerTest {
         Mockito.verify(requestService, Mockito.times(1)).findAll(requestor.getId());
     }
 
+    @Test
+    @DisplayName("Send GET request /requests?ids={ids}")
+    void findAllByIds() throws Exception {
+        Mockito.when(requestService.findAllByIds(owner.getId(), List.of(1L, 2L))).thenReturn(List.of(dto));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/requests?ids={ids}", "1,2")
+                        .header("X-Sharer-User-Id", owner.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").isNumber());
+
+        Mockito.verify(requestService, Mockito.times(1)).findAllByIds(owner.getId(), List.of(1L, 2L));
+        Mockito.verify(requestService, Mockito.never()).findAll(Mockito.anyLong());
+    }
+
     @Test
     @DisplayName("Send GET request /requests/all?from={from}&size={size}")
     void findByPage() throws Exception {
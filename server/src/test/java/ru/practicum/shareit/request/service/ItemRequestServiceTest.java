@@ -16,7 +16,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import ru.practicum.shareit.MyPageRequest;
 import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repo.UserRepository;
+import ru.practicum.shareit.user.service.UserLookup;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repo.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -34,7 +34,7 @@ class ItemRequestServiceTest {
     private ItemRequest request;
     private Item item;
     @Mock
-    private UserRepository userRepository;
+    private UserLookup userLookup;
     @Mock
     private ItemRepository itemRepository;
     @Mock
@@ -68,7 +68,7 @@ class ItemRequestServiceTest {
 
     @Test
     void findById() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(requestRepository.findById(request.getId())).thenReturn(Optional.of(request));
         Mockito.when(itemRepository.findAllByRequestId(request.getId())).thenReturn(Set.of(item));
 
@@ -79,7 +79,7 @@ class ItemRequestServiceTest {
         assertEquals(dto.getCreated(), request.getCreated());
         assertEquals(dto.getItems().size(), 1);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
         Mockito.verify(requestRepository, Mockito.times(1)).findById(request.getId());
         Mockito.verify(itemRepository, Mockito.times(1)).findAllByRequestId(request.getId());
     }
@@ -87,6 +87,8 @@ class ItemRequestServiceTest {
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void findByNotValidUserId(Long userId) {
+        Mockito.when(userLookup.get(userId)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", userId)));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             requestService.findById(userId, request.getId());
         });
@@ -100,7 +102,7 @@ class ItemRequestServiceTest {
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void findByNotValidId(Long id) {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             requestService.findById(owner.getId(), id);
@@ -111,25 +113,43 @@ class ItemRequestServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
     }
 
     @Test
     void findAll() {
-        Mockito.when(userRepository.findById(requestor.getId())).thenReturn(Optional.of(requestor));
+        Mockito.when(userLookup.get(requestor.getId())).thenReturn(requestor);
         Mockito.when(requestRepository.findAllByRequestorId(requestor.getId())).thenReturn(List.of(request));
 
         List<ItemRequestDto> requests = requestService.findAll(requestor.getId());
 
         assertEquals(requests.size(), 1);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(requestor.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(requestor.getId());
         Mockito.verify(requestRepository, Mockito.times(2)).findAllByRequestorId(requestor.getId());
     }
 
+    @Test
+    void findAllByIds() {
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
+        Mockito.when(requestRepository.findAllById(List.of(99L, request.getId()))).thenReturn(List.of(request));
+        Mockito.when(itemRepository.findItemByRequestIn(List.of(request))).thenReturn(Set.of(item));
+
+        List<ItemRequestDto> requests = requestService.findAllByIds(owner.getId(), List.of(99L, request.getId()));
+
+        assertEquals(requests.size(), 1);
+        assertEquals(requests.get(0).getId(), request.getId());
+        assertEquals(requests.get(0).getItems().size(), 1);
+
+        Mockito.verify(requestRepository, Mockito.times(1)).findAllById(List.of(99L, request.getId()));
+        Mockito.verify(itemRepository, Mockito.times(1)).findItemByRequestIn(List.of(request));
+    }
+
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void findAllByNotValidUserId(Long userId) {
+        Mockito.when(userLookup.get(userId)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", userId)));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             requestService.findAll(userId);
         });
@@ -143,20 +163,22 @@ class ItemRequestServiceTest {
     @Test
     void findByPage() {
         MyPageRequest pageRequest = new MyPageRequest(0, 10, Sort.by(Sort.Direction.DESC, "created"));
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(requestRepository.findAllByRequestorIdNot(owner.getId(), pageRequest)).thenReturn(List.of(request));
 
         List<ItemRequestDto> requests = requestService.findByPage(owner.getId(), 0, 10);
 
         assertEquals(requests.size(), 1);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
         Mockito.verify(requestRepository, Mockito.times(2)).findAllByRequestorIdNot(owner.getId(), pageRequest);
     }
 
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void findByPageNotValidUserId(Long userId) {
+        Mockito.when(userLookup.get(userId)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", userId)));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             requestService.findByPage(userId, 0, 10);
         });
@@ -169,7 +191,7 @@ class ItemRequestServiceTest {
 
     @Test
     void save() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(requestRepository.save(Mockito.any())).thenReturn(request);
 
         ItemRequestDto dto = ItemRequestMapper.toItemRequestDto(request);
@@ -181,13 +203,15 @@ class ItemRequestServiceTest {
                     .isEqualTo(savedDto);
         });
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
         Mockito.verify(requestRepository, Mockito.times(1)).save(Mockito.any());
     }
 
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void saveByNotValidUserId(Long userId) {
+        Mockito.when(userLookup.get(userId)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", userId)));
+
         ItemRequestDto dto = ItemRequestMapper.toItemRequestDto(request);
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             requestService.save(dto, userId);
@@ -201,18 +225,20 @@ class ItemRequestServiceTest {
 
     @Test
     void deleteById() {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
         Mockito.when(requestRepository.findById(request.getId())).thenReturn(Optional.of(request));
 
         requestService.deleteById(owner.getId(), request.getId());
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
         Mockito.verify(requestRepository, Mockito.times(1)).findById(request.getId());
     }
 
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void deleteByNotValidUserId(Long userId) {
+        Mockito.when(userLookup.get(userId)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", userId)));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             requestService.deleteById(userId, request.getId());
         });
@@ -226,7 +252,7 @@ class ItemRequestServiceTest {
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void deleteByNotValidId(Long id) {
-        Mockito.when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        Mockito.when(userLookup.get(owner.getId())).thenReturn(owner);
 
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             requestService.deleteById(owner.getId(), id);
@@ -237,6 +263,6 @@ class ItemRequestServiceTest {
 
         assertEquals(expectedMessage, actualMessage);
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(owner.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(owner.getId());
     }
 }
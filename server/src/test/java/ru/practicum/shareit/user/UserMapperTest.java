@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.BookerDto;
+import ru.practicum.shareit.grpc.UserMessage;
 import static org.junit.jupiter.api.Assertions.*;
 
 class UserMapperTest {
@@ -34,4 +35,22 @@ class UserMapperTest {
         assertEquals(user.getName(), DTO.getName());
         assertEquals(user.getEmail(), DTO.getEmail());
     }
+
+    @Test
+    void toUserMessage() {
+        UserMessage message = UserMapper.toUserMessage(DTO);
+
+        assertEquals(message.getId(), DTO.getId());
+        assertEquals(message.getName(), DTO.getName());
+        assertEquals(message.getEmail(), DTO.getEmail());
+    }
+
+    @Test
+    void toUserDtoByMessage() {
+        UserDto dto = UserMapper.toUserDto(UserMessage.newBuilder().setEmail("nik@mail.ru").build());
+
+        assertNull(dto.getId());
+        assertNull(dto.getName());
+        assertEquals(dto.getEmail(), "nik@mail.ru");
+    }
 }
@@ -12,6 +12,8 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import ru.practicum.shareit.WebConfig;
+import org.springframework.context.annotation.Import;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +25,7 @@ import javax.persistence.EntityNotFoundException;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
+@Import(WebConfig.class)
 class UserControllerTest {
     private User user;
     private UserDto dto;
@@ -62,6 +65,26 @@ class UserControllerTest {
         Mockito.verify(userService, Mockito.times(1)).findById(user.getId());
     }
 
+    @Test
+    @DisplayName("Send GET request /users/{id} with If-None-Match")
+    void findByIdNotModified() throws Exception {
+        Mockito.when(userService.findById(user.getId())).thenReturn(dto);
+
+        String etag = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/users/{id}", user.getId())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/users/{id}", user.getId())
+                        .header("If-None-Match", etag)
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+    }
+
     @Test
     @DisplayName("Send GET request /users/{id}")
     void findByNotValidId() throws Exception {
@@ -89,6 +112,21 @@ class UserControllerTest {
         Mockito.verify(userService, Mockito.times(1)).findAll();
     }
 
+    @Test
+    @DisplayName("Send GET request /users?ids={ids}")
+    void findAllByIds() throws Exception {
+        Mockito.when(userService.findAllByIds(List.of(1L, 2L))).thenReturn(List.of(dto));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/users?ids={ids}", "1,2")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").isNumber());
+
+        Mockito.verify(userService, Mockito.times(1)).findAllByIds(List.of(1L, 2L));
+        Mockito.verify(userService, Mockito.never()).findAll();
+    }
+
     @Test
     @DisplayName("Send POST request /users")
     void save() throws Exception {
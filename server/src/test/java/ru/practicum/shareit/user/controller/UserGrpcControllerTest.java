@@ -0,0 +1,132 @@
+package ru.practicum.shareit.user.controller;
+
+import java.util.List;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.ManagedChannel;
+import io.grpc.ServerInterceptors;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import com.google.protobuf.Empty;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.extension.ExtendWith;
+import ru.practicum.shareit.grpc.IdRequest;
+import ru.practicum.shareit.grpc.UserList;
+import ru.practicum.shareit.grpc.UserMessage;
+import ru.practicum.shareit.grpc.UpdateUserRequest;
+import ru.practicum.shareit.grpc.UserServiceGrpc;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.exception.GrpcErrorInterceptor;
+import javax.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserGrpcControllerTest {
+    private UserDto dto;
+    private Server server;
+    private ManagedChannel channel;
+    private UserServiceGrpc.UserServiceBlockingStub stub;
+    @Mock
+    private UserService userService;
+
+    @BeforeEach
+    void init() throws Exception {
+        dto = new UserDto(1L, "Nikolas", "nik@mail.ru");
+        final String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name)
+                .directExecutor()
+                .addService(ServerInterceptors.intercept(new UserGrpcController(userService), new GrpcErrorInterceptor()))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name)
+                .directExecutor()
+                .build();
+        stub = UserServiceGrpc.newBlockingStub(channel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        channel.shutdownNow();
+        server.shutdownNow();
+        dto = null;
+    }
+
+    @Test
+    @DisplayName("Send grpc request UserService/FindById")
+    void findById() {
+        Mockito.when(userService.findById(dto.getId())).thenReturn(dto);
+
+        UserMessage message = stub.findById(IdRequest.newBuilder().setId(dto.getId()).build());
+
+        assertEquals(message.getId(), dto.getId());
+        assertEquals(message.getName(), dto.getName());
+        assertEquals(message.getEmail(), dto.getEmail());
+    }
+
+    @Test
+    @DisplayName("Send grpc request UserService/FindById by not found id")
+    void findByNotFoundId() {
+        Mockito.when(userService.findById(99L)).thenThrow(new EntityNotFoundException("User with id=99 not found!"));
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () -> {
+            stub.findById(IdRequest.newBuilder().setId(99L).build());
+        });
+
+        assertEquals(Status.Code.NOT_FOUND, exception.getStatus().getCode());
+        assertEquals("User with id=99 not found!", exception.getStatus().getDescription());
+    }
+
+    @Test
+    @DisplayName("Send grpc request UserService/FindAll")
+    void findAll() {
+        Mockito.when(userService.findAll()).thenReturn(List.of(dto));
+
+        UserList users = stub.findAll(Empty.getDefaultInstance());
+
+        assertEquals(1, users.getUsersCount());
+        assertEquals(users.getUsers(0).getId(), dto.getId());
+    }
+
+    @Test
+    @DisplayName("Send grpc request UserService/Save with duplicate email")
+    void saveByDuplicateEmail() {
+        Mockito.when(userService.save(Mockito.any(UserDto.class))).thenThrow(new DataIntegrityViolationException("Email exists!"));
+
+        StatusRuntimeException exception = assertThrows(StatusRuntimeException.class, () -> {
+            stub.save(UserMessage.newBuilder().setName(dto.getName()).setEmail(dto.getEmail()).build());
+        });
+
+        assertEquals(Status.Code.ALREADY_EXISTS, exception.getStatus().getCode());
+    }
+
+    @Test
+    @DisplayName("Send grpc request UserService/Update")
+    void update() {
+        ArgumentCaptor<UserDto> captor = ArgumentCaptor.forClass(UserDto.class);
+        Mockito.when(userService.update(captor.capture(), Mockito.eq(dto.getId()))).thenReturn(dto);
+
+        stub.update(UpdateUserRequest.newBuilder()
+                .setId(dto.getId())
+                .setUser(UserMessage.newBuilder().setName(dto.getName()))
+                .build());
+
+        assertEquals(captor.getValue().getName(), dto.getName());
+        assertNull(captor.getValue().getEmail());
+    }
+
+    @Test
+    @DisplayName("Send grpc request UserService/DeleteById")
+    void deleteById() {
+        stub.deleteById(IdRequest.newBuilder().setId(dto.getId()).build());
+
+        Mockito.verify(userService, Mockito.times(1)).deleteById(dto.getId());
+    }
+}
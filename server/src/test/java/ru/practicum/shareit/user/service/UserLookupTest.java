@@ -0,0 +1,80 @@
+package ru.practicum.shareit.user.service;
+
+import org.mockito.*;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.junit.jupiter.MockitoExtension;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repo.UserRepository;
+import javax.persistence.EntityNotFoundException;
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserLookupTest {
+    private User user;
+    @Mock
+    private UserRepository userRepository;
+    private UserLookup userLookup;
+
+    @BeforeEach
+    void init() {
+        user = new User(1L, "Djon", "djon@mail.ru");
+        userLookup = new UserLookup(userRepository, 100, 300);
+    }
+
+    @Test
+    void get() {
+        Mockito.when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        User first = userLookup.get(user.getId());
+        User second = userLookup.get(user.getId());
+
+        assertEquals(user.getId(), first.getId());
+        assertEquals(user.getName(), first.getName());
+        assertEquals(user.getEmail(), second.getEmail());
+
+        Mockito.verify(userRepository, Mockito.times(1)).findById(user.getId());
+    }
+
+    @Test
+    void getByNotValidId() {
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
+            userLookup.get(999L);
+        });
+
+        String expectedMessage = exception.getMessage();
+        String actualMessage = String.format("User with id=%d not found!", 999L);
+
+        assertEquals(expectedMessage, actualMessage);
+        assertThrows(EntityNotFoundException.class, () -> userLookup.get(999L));
+
+        Mockito.verify(userRepository, Mockito.times(2)).findById(999L);
+    }
+
+    @Test
+    void evict() {
+        Mockito.when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+        userLookup.get(user.getId());
+        userLookup.evict(user.getId());
+        userLookup.get(user.getId());
+
+        Mockito.verify(userRepository, Mockito.times(2)).findById(user.getId());
+    }
+
+    @Test
+    void bindTo() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        Mockito.when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        userLookup.bindTo(registry);
+
+        userLookup.get(user.getId());
+        userLookup.get(user.getId());
+
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "users").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "users").tag("result", "miss").functionCounter().count());
+    }
+}
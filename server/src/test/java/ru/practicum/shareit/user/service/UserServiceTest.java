@@ -22,6 +22,8 @@ class UserServiceTest {
     private User user;
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserLookup userLookup;
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -37,7 +39,7 @@ class UserServiceTest {
 
     @Test
     void findById() {
-        Mockito.when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        Mockito.when(userLookup.get(user.getId())).thenReturn(user);
 
         UserDto dto = userService.findById(user.getId());
 
@@ -45,12 +47,14 @@ class UserServiceTest {
         assertEquals(dto.getName(), user.getName());
         assertEquals(dto.getEmail(), user.getEmail());
 
-        Mockito.verify(userRepository, Mockito.times(1)).findById(user.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).get(user.getId());
     }
 
     @ParameterizedTest
     @ValueSource(longs = {11, 12, 32, 999})
     void findByNotValidId(Long userId) {
+        Mockito.when(userLookup.get(userId)).thenThrow(new EntityNotFoundException(String.format("User with id=%d not found!", userId)));
+
         EntityNotFoundException exception = assertThrows(EntityNotFoundException.class, () -> {
             userService.findById(userId);
         });
@@ -72,6 +76,20 @@ class UserServiceTest {
         Mockito.verify(userRepository, Mockito.times(1)).findAll();
     }
 
+    @Test
+    void findAllByIds() {
+        User other = new User(2L, "Bob", "bob@mail.ru");
+        Mockito.when(userRepository.findAllById(List.of(2L, 99L, 1L, 2L))).thenReturn(List.of(user, other));
+
+        List<UserDto> users = userService.findAllByIds(List.of(2L, 99L, 1L, 2L));
+
+        assertEquals(2, users.size());
+        assertEquals(other.getId(), users.get(0).getId());
+        assertEquals(user.getId(), users.get(1).getId());
+
+        Mockito.verify(userRepository, Mockito.times(1)).findAllById(List.of(2L, 99L, 1L, 2L));
+    }
+
     @Test
     void save() {
         Mockito.when(userRepository.save(Mockito.any())).thenReturn(user);
@@ -99,6 +117,7 @@ class UserServiceTest {
         assertEquals(savedUser.getEmail(), newUser.getEmail());
 
         Mockito.verify(userRepository, Mockito.times(1)).findById(user.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).evict(user.getId());
     }
 
     @ParameterizedTest
@@ -124,6 +143,7 @@ class UserServiceTest {
         userService.deleteById(user.getId());
 
         Mockito.verify(userRepository, Mockito.times(1)).findById(user.getId());
+        Mockito.verify(userLookup, Mockito.times(1)).evict(user.getId());
     }
 
     @ParameterizedTest